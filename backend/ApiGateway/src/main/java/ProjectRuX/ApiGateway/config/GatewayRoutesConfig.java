@@ -1,30 +1,46 @@
 package ProjectRuX.ApiGateway.config;
 
+import ProjectRuX.ApiGateway.filter.ClientIpRateLimitFilter;
 import ProjectRuX.ApiGateway.filter.JwtAuthFilter;
+import ProjectRuX.ApiGateway.filter.RateLimitFilter;
+import ProjectRuX.ApiGateway.filter.ResponseCacheFilter;
+import ProjectRuX.ApiGateway.ratelimit.RateLimitProperties;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class GatewayRoutesConfig {
 
     @Autowired
     private JwtAuthFilter jwtAuthFilter;
 
+    @Autowired
+    private ResponseCacheFilter responseCacheFilter;
+
+    @Autowired
+    private ClientIpRateLimitFilter clientIpRateLimitFilter;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Bean
     public RouteLocator gatewayRoutes(RouteLocatorBuilder builder) {
         return builder.routes()
 
             .route("user-management", r -> r.path("/user/**")
-                    .filters(f -> f.filter(jwtAuthFilter))
+                    .filters(f -> f.filter(clientIpRateLimitFilter).filter(jwtAuthFilter).filter(rateLimitFilter).filter(responseCacheFilter))
                     .uri("lb://user-management"))
             // keep adding filters
             .route("authentication", r -> r.path("/auth/**")
+                    .filters(f -> f.filter(clientIpRateLimitFilter))
                     .uri("lb://authentication"))
             .route("post-service", r -> r.path("/post/**")
-                    .filters(f -> f.filter(jwtAuthFilter))
+                    .filters(f -> f.filter(clientIpRateLimitFilter).filter(jwtAuthFilter).filter(rateLimitFilter).filter(responseCacheFilter))
                     .uri("lb://post-service"))
             .build();
 
@@ -0,0 +1,67 @@
+package ProjectRuX.ApiGateway.filter;
+
+import ProjectRuX.ApiGateway.ratelimit.RateLimitProperties;
+import ProjectRuX.ApiGateway.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Charges every request to a per-IP bucket ({@code gateway.rate-limit.routes.<route id>.per-ip}) before
+ * {@link JwtAuthFilter} runs, so floods of bad or missing tokens are shed without validating them.
+ * <p>
+ * The client IP is the socket peer, or with {@code gateway.rate-limit.trusted-proxy-hops} set, the
+ * {@code X-Forwarded-For} entry that many hops from the right; entries further left are client-supplied and
+ * ignored, so a spoofed header can't pick a fresh bucket.
+ */
+@Component
+public class ClientIpRateLimitFilter implements GatewayFilter, Ordered {
+
+    private final RateLimitProperties properties;
+
+    private final RateLimiter rateLimiter;
+
+    private final RemoteAddressResolver addressResolver;
+
+    public ClientIpRateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.addressResolver = properties.getTrustedProxyHops() > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(properties.getTrustedProxyHops())
+                : new RemoteAddressResolver() { };
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        RateLimitProperties.Quota quota = route == null ? null : properties.getRoutes().get(route.getId());
+        if (!properties.isEnabled() || quota == null || !quota.getPerIp().isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        long retryAfter = rateLimiter.tryConsume(route.getId() + ":ip:" + clientIp(exchange), quota.getPerIp());
+        if (retryAfter > 0) {
+            return RateLimitFilter.reject(exchange, retryAfter);
+        }
+        return chain.filter(exchange);
+    }
+
+    private String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress address = addressResolver.resolve(exchange);
+        return address == null || address.getAddress() == null ? "unknown" : address.getAddress().getHostAddress();
+    }
+
+    @Override
+    public int getOrder() {
+        return -5; // Before JwtAuthFilter, so rejected requests cost no token validation
+    }
+}
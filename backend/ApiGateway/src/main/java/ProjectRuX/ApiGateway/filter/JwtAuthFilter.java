@@ -1,5 +1,9 @@
 package ProjectRuX.ApiGateway.filter;
 
+import ProjectRuX.ApiGateway.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -8,18 +12,39 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 @Component
 public class JwtAuthFilter implements GatewayFilter, Ordered {
 
+    public static final String USER_NAME_HEADER = "X-User-Name";
+
+    public static final String USER_EMAIL_HEADER = "X-User-Email";
+
+    // Exchange attribute holding the validated username; unlike the headers it can't come from the client
+    public static final String AUTHENTICATED_USER_ATTR = JwtAuthFilter.class.getName() + ".user";
+
     @Value("${auth.service.url}")
     private String authServiceUrl;
 
     @Value("${auth.path-prefix}")
     private String authPathPrefix;
 
+    // Upper bound for one /validate call; a hung call fails (401) instead of holding requests
+    @Value("${auth.validation-timeout:2s}")
+    private Duration validationTimeout;
+
+    // Present only with auth.verification-mode=local
+    @Autowired(required = false)
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenValidationCache tokenValidationCache;
+
     private final WebClient webClient = WebClient.create();
 
     @Override
@@ -38,22 +63,18 @@ public class JwtAuthFilter implements GatewayFilter, Ordered {
             return exchange.getResponse().setComplete();
         }
 
-        return webClient.post()
-            .uri(authServiceUrl)
-            .header(HttpHeaders.AUTHORIZATION, authHeader)
-            .retrieve()
-            .bodyToMono(AuthResponse.class) // <-- correct parsing
+        if (jwtUtil != null) {
+            return verifyLocally(exchange, chain, authHeader.substring(7));
+        }
+
+        return tokenValidationCache.get(authHeader.substring(7), () -> validateRemotely(authHeader))
             .flatMap(response -> {
                 if (!"success".equalsIgnoreCase(response.status)) {
                     exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
                     return exchange.getResponse().setComplete();
                 }
 
-                ServerWebExchange mutatedExchange = exchange.mutate()
-                        .request(builder -> builder.header("X-User-Name", response.username))
-                        .build();
-
-                return chain.filter(mutatedExchange);
+                return chain.filter(withUser(exchange, response.username, null));
             })
             .onErrorResume(error -> {
                 exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
@@ -61,14 +82,61 @@ public class JwtAuthFilter implements GatewayFilter, Ordered {
             });
     }
 
+    // A 401 from the auth service is a definite answer and gets cached as a (short-lived) rejection
+    private Mono<AuthResponse> validateRemotely(String authHeader) {
+        return webClient.post()
+            .uri(authServiceUrl)
+            .header(HttpHeaders.AUTHORIZATION, authHeader)
+            .retrieve()
+            .bodyToMono(AuthResponse.class) // <-- correct parsing
+            .timeout(validationTimeout)
+            .onErrorResume(WebClientResponseException.Unauthorized.class, error -> Mono.just(AuthResponse.failed()));
+    }
+
+    // HMAC verification is a few microseconds of CPU with no I/O, so it runs inline on the event loop
+    // rather than costing a network hop to the auth service.
+    private Mono<Void> verifyLocally(ServerWebExchange exchange, GatewayFilterChain chain, String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.validateToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+
+        return chain.filter(withUser(exchange, claims.getSubject(), claims.get("email", String.class)));
+    }
+
+    // Identity headers are always overwritten so a client can't smuggle in its own
+    private ServerWebExchange withUser(ServerWebExchange exchange, String username, String email) {
+        if (username != null) {
+            exchange.getAttributes().put(AUTHENTICATED_USER_ATTR, username);
+        }
+        return exchange.mutate()
+                .request(builder -> builder.headers(headers -> {
+                    headers.set(USER_NAME_HEADER, username);
+                    headers.remove(USER_EMAIL_HEADER);
+                    if (email != null) {
+                        headers.set(USER_EMAIL_HEADER, email);
+                    }
+                }))
+                .build();
+    }
+
         @Override
     public int getOrder() {
-        return -1; // Make sure it runs early
+        return -4; // Before the response cache, so cached paths still require a valid token
     }
 
     public static class AuthResponse {
         public String status;
         public String username;
+
+        static AuthResponse failed() {
+            AuthResponse response = new AuthResponse();
+            response.status = "failed";
+            return response;
+        }
     }
 
 }
@@ -0,0 +1,60 @@
+package ProjectRuX.ApiGateway.filter;
+
+import ProjectRuX.ApiGateway.ratelimit.RateLimitProperties;
+import ProjectRuX.ApiGateway.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Admission control per route and user: once {@link JwtAuthFilter} has validated the token, the request is
+ * charged to a per-user bucket. Quotas come from {@code gateway.rate-limit.routes.<route id>}; routes without a
+ * quota are not limited. The per-IP quota is charged earlier by {@link ClientIpRateLimitFilter}. Rejections get
+ * 429 with {@code Retry-After}.
+ */
+@Component
+public class RateLimitFilter implements GatewayFilter, Ordered {
+
+    private final RateLimitProperties properties;
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        RateLimitProperties.Quota quota = route == null ? null : properties.getRoutes().get(route.getId());
+        String user = exchange.getAttribute(JwtAuthFilter.AUTHENTICATED_USER_ATTR);
+        if (!properties.isEnabled() || quota == null || user == null || !quota.getPerUser().isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        long retryAfter = rateLimiter.tryConsume(route.getId() + ":user:" + user, quota.getPerUser());
+        if (retryAfter > 0) {
+            return reject(exchange, retryAfter);
+        }
+        return chain.filter(exchange);
+    }
+
+    static Mono<Void> reject(ServerWebExchange exchange, long retryAfterMillis) {
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (retryAfterMillis + 999) / 1000)));
+        return exchange.getResponse().setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return -3; // After JwtAuthFilter, so the validated user is known; before the response cache, so hits count
+    }
+}
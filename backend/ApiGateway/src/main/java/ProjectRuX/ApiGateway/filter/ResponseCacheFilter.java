@@ -0,0 +1,171 @@
+package ProjectRuX.ApiGateway.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serves GET responses of the configured reference-data paths (static enum lists) from gateway memory.
+ * <p>
+ * Runs after {@link JwtAuthFilter}, so these paths need a valid token whether or not the response is cached:
+ * the first 200 response is stored for {@code ttl} with a content {@code ETag}, and later requests are answered
+ * from memory (or with 304 when {@code If-None-Match} matches) without a hop to the service. Entries are keyed
+ * on the path alone, so the cache never holds more than one entry per configured path; only list paths whose
+ * responses are identical for every user and every query string here.
+ */
+@Component
+public class ResponseCacheFilter implements GatewayFilter, Ordered {
+
+    private final boolean enabled;
+
+    private final Set<String> paths;
+
+    private final long ttlMillis;
+
+    private final int maxBodyBytes;
+
+    private final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
+
+    public ResponseCacheFilter(@Value("${gateway.response-cache.enabled:true}") boolean enabled,
+                               @Value("${gateway.response-cache.paths:}") String paths,
+                               @Value("${gateway.response-cache.ttl:1h}") Duration ttl,
+                               @Value("${gateway.response-cache.max-body-bytes:262144}") int maxBodyBytes) {
+        this.enabled = enabled;
+        this.paths = Arrays.stream(paths.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.ttlMillis = ttl.toMillis();
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!enabled || request.getMethod() != HttpMethod.GET || !paths.contains(request.getPath().value())) {
+            return chain.filter(exchange);
+        }
+
+        String key = request.getPath().value();
+        long now = System.currentTimeMillis();
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return serve(exchange, cached, now);
+            }
+            cache.remove(key, cached);
+        }
+
+        return chain.filter(exchange.mutate().response(new CachingResponse(exchange.getResponse(), key)).build());
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, long now) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag);
+        headers.setCacheControl(cacheControl(cached.expiresAt - now));
+
+        if (exchange.getRequest().getHeaders().getIfNoneMatch().contains(cached.etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        cached.headers.forEach(headers::put);
+        headers.setContentLength(cached.body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body)));
+    }
+
+    private static String cacheControl(long remainingMillis) {
+        return "public, max-age=" + Math.max(0, remainingMillis / 1000);
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // Before NettyWriteResponseFilter (-1): it writes the body through the exchange it was handed, so the
+        // caching decorator has to be installed before that filter runs
+        return -2;
+    }
+
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+
+        CachingResponse(ServerHttpResponse delegate, String key) {
+            super(delegate);
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (getStatusCode() == null || getStatusCode().value() != HttpStatus.OK.value()) {
+                return super.writeWith(body);
+            }
+
+            // Only configured reference-data paths get here, so buffering the whole body is cheap
+            return DataBufferUtils.join(Flux.from(body))
+                    .flatMap(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+
+                        if (bytes.length <= maxBodyBytes) {
+                            CachedResponse cached = new CachedResponse(bytes, etag(bytes), storedHeaders(getHeaders()),
+                                    System.currentTimeMillis() + ttlMillis);
+                            cache.put(key, cached);
+
+                            getHeaders().setETag(cached.etag);
+                            getHeaders().setCacheControl(cacheControl(ttlMillis));
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+    }
+
+    private static Map<String, List<String>> storedHeaders(HttpHeaders headers) {
+        HttpHeaders stored = new HttpHeaders();
+        for (String name : new String[]{HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING, HttpHeaders.VARY}) {
+            if (headers.containsKey(name)) {
+                stored.put(name, headers.get(name));
+            }
+        }
+        return stored;
+    }
+
+    private record CachedResponse(byte[] body, String etag, Map<String, List<String>> headers, long expiresAt) {
+    }
+}
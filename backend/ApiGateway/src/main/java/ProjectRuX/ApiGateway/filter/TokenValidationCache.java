@@ -0,0 +1,150 @@
+package ProjectRuX.ApiGateway.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-limited cache of remote token validation results, keyed by the SHA-256 of the token.
+ * <p>
+ * Each entry holds a cached {@link Mono}, so concurrent requests carrying the same token share one
+ * in-flight call to the auth service. Successful validations are reused for {@code successTtl}, but never past
+ * the token's own {@code exp}; rejected tokens only for the much shorter {@code failureTtl}; errors (auth service down, timeouts) are never
+ * cached. An entry still in flight after {@code maxInFlight} is treated as expired, so a call that never
+ * completes can't pin a token. When the cache is full, new tokens are validated without being cached.
+ */
+@Component
+public class TokenValidationCache {
+
+    private final boolean enabled;
+
+    private final long successTtlMillis;
+
+    private final long failureTtlMillis;
+
+    private final long maxInFlightMillis;
+
+    private final int maxSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile long lastSweep;
+
+    public TokenValidationCache(@Value("${auth.validation-cache.enabled:true}") boolean enabled,
+                                @Value("${auth.validation-cache.success-ttl:60s}") Duration successTtl,
+                                @Value("${auth.validation-cache.failure-ttl:5s}") Duration failureTtl,
+                                @Value("${auth.validation-cache.max-in-flight:10s}") Duration maxInFlight,
+                                @Value("${auth.validation-cache.max-size:10000}") int maxSize) {
+        this.enabled = enabled;
+        this.successTtlMillis = successTtl.toMillis();
+        this.failureTtlMillis = failureTtl.toMillis();
+        this.maxInFlightMillis = maxInFlight.toMillis();
+        this.maxSize = maxSize;
+    }
+
+    public Mono<JwtAuthFilter.AuthResponse> get(String token, Supplier<Mono<JwtAuthFilter.AuthResponse>> validation) {
+        if (!enabled) {
+            return validation.get();
+        }
+
+        long now = System.currentTimeMillis();
+        String key = hash(token);
+        Entry cached = entries.get(key);
+        if (cached != null && isLive(cached, now)) {
+            return cached.response;
+        }
+
+        if (entries.size() >= maxSize && !sweep(now)) {
+            return validation.get();
+        }
+
+        return entries.compute(key, (k, existing) ->
+                existing != null && isLive(existing, now) ? existing : newEntry(k, token, validation, now)).response;
+    }
+
+    private boolean isLive(Entry entry, long now) {
+        return entry.expiresAt == Long.MAX_VALUE
+                ? now - entry.createdAt < maxInFlightMillis
+                : entry.expiresAt > now;
+    }
+
+    private Entry newEntry(String key, String token, Supplier<Mono<JwtAuthFilter.AuthResponse>> validation, long now) {
+        Entry entry = new Entry(now);
+        entry.response = validation.get()
+                .doOnSuccess(response -> {
+                    if (response == null) {
+                        entries.remove(key, entry);
+                        return;
+                    }
+                    long completedAt = System.currentTimeMillis();
+                    entry.expiresAt = "success".equalsIgnoreCase(response.status)
+                            ? Math.min(completedAt + successTtlMillis, tokenExpiry(token))
+                            : completedAt + failureTtlMillis;
+                })
+                .doOnError(error -> entries.remove(key, entry))
+                .cache();
+        return entry;
+    }
+
+    // Drops expired entries, at most once a second; returns whether there is room afterwards
+    private boolean sweep(long now) {
+        if (now - lastSweep >= 1000) {
+            lastSweep = now;
+            entries.values().removeIf(entry -> !isLive(entry, now));
+        }
+        return entries.size() < maxSize;
+    }
+
+    // The auth service has verified the signature by now; exp is only read to cut the entry short, so the
+    // payload is decoded without verifying it again. Tokens without a readable exp keep the full TTL.
+    private long tokenExpiry(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            JsonNode exp = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+            return exp != null && exp.canConvertToLong() ? exp.asLong() * 1000 : Long.MAX_VALUE;
+        } catch (IOException | IllegalArgumentException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+
+        private final long createdAt;
+
+        private Mono<JwtAuthFilter.AuthResponse> response;
+
+        // In flight until the validation completes
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(long createdAt) {
+            this.createdAt = createdAt;
+        }
+
+    }
+}
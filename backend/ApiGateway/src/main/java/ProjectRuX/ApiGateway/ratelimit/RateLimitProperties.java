@@ -0,0 +1,116 @@
+package ProjectRuX.ApiGateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Share consumption with the other gateway instances through Redis
+    private boolean distributed = true;
+
+    private Duration syncInterval = Duration.ofSeconds(1);
+
+    // Proxies in front of the gateway that append to X-Forwarded-For; 0 uses the socket peer address
+    private int trustedProxyHops = 0;
+
+    // Keyed by gateway route id
+    private Map<String, Quota> routes = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isDistributed() {
+        return distributed;
+    }
+
+    public void setDistributed(boolean distributed) {
+        this.distributed = distributed;
+    }
+
+    public Duration getSyncInterval() {
+        return syncInterval;
+    }
+
+    public void setSyncInterval(Duration syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    public int getTrustedProxyHops() {
+        return trustedProxyHops;
+    }
+
+    public void setTrustedProxyHops(int trustedProxyHops) {
+        this.trustedProxyHops = trustedProxyHops;
+    }
+
+    public Map<String, Quota> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Quota> routes) {
+        this.routes = routes;
+    }
+
+    public static class Quota {
+
+        // Keyed by the authenticated user (X-User-Name set by JwtAuthFilter)
+        private Limit perUser = new Limit();
+
+        private Limit perIp = new Limit();
+
+        public Limit getPerUser() {
+            return perUser;
+        }
+
+        public void setPerUser(Limit perUser) {
+            this.perUser = perUser;
+        }
+
+        public Limit getPerIp() {
+            return perIp;
+        }
+
+        public void setPerIp(Limit perIp) {
+            this.perIp = perIp;
+        }
+    }
+
+    public static class Limit {
+
+        // Burst size; 0 disables the bucket
+        private int capacity;
+
+        private double refillPerSecond;
+
+        public boolean isEnabled() {
+            return capacity > 0 && refillPerSecond > 0;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
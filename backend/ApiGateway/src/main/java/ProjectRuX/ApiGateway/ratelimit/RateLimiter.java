@@ -0,0 +1,128 @@
+package ProjectRuX.ApiGateway.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets checked in memory on every request, with no I/O on the request path. When
+ * {@code gateway.rate-limit.distributed} is on, each bucket's consumption is pushed to a Redis counter
+ * ({@code gateway-rate:<bucket>}) every {@code sync-interval}, and what other instances consumed is deducted
+ * locally, making the limits cluster-wide. Buckets with nothing to report are skipped. If Redis is unreachable
+ * each instance keeps enforcing its own buckets. Idle buckets are evicted on their own timer, with or without Redis.
+ */
+@Component
+public class RateLimiter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    private static final String KEY_PREFIX = "gateway-rate:";
+
+    private final RateLimitProperties properties;
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final long idleMillis;
+
+    private final Duration counterTtl;
+
+    private Disposable sync;
+
+    private Disposable eviction;
+
+    private volatile boolean redisHealthy = true;
+
+    public RateLimiter(RateLimitProperties properties, ObjectProvider<ReactiveStringRedisTemplate> redisTemplate) {
+        this.properties = properties;
+        this.redisTemplate = properties.isDistributed() ? redisTemplate.getIfAvailable() : null;
+        this.idleMillis = Math.max(60_000, properties.getSyncInterval().toMillis() * 10);
+        this.counterTtl = Duration.ofMillis(idleMillis * 2);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        eviction = Flux.interval(Duration.ofMillis(idleMillis / 2))
+                .onBackpressureDrop()
+                .subscribe(tick -> evictIdle());
+        if (redisTemplate == null) {
+            return;
+        }
+        sync = Flux.interval(properties.getSyncInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> syncOnce())
+                .subscribe();
+    }
+
+    /**
+     * @return 0 when allowed, otherwise the milliseconds until the bucket has a token again
+     */
+    public long tryConsume(String bucket, RateLimitProperties.Limit limit) {
+        long now = System.currentTimeMillis();
+        return buckets.computeIfAbsent(bucket, key -> new TokenBucket(limit, now)).tryConsume(now);
+    }
+
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleMillis));
+    }
+
+    private Mono<Void> syncOnce() {
+        long now = System.currentTimeMillis();
+        return Flux.fromIterable(buckets.entrySet())
+                .flatMap(entry -> sync(entry.getKey(), entry.getValue(), now), 32)
+                .then()
+                .doOnSuccess(done -> {
+                    if (!redisHealthy) {
+                        log.info("Rate limit sync with Redis restored");
+                        redisHealthy = true;
+                    }
+                })
+                .onErrorResume(error -> {
+                    if (redisHealthy) {
+                        log.warn("Rate limit sync with Redis failed, enforcing local limits only: {}", error.getMessage());
+                        redisHealthy = false;
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> sync(String bucket, TokenBucket tokenBucket, long now) {
+        if (!tokenBucket.hasUnsynced()) {
+            tokenBucket.skipGlobalCount();
+            return Mono.empty();
+        }
+        long delta = tokenBucket.drainUnsynced();
+        String key = KEY_PREFIX + bucket;
+        return redisTemplate.opsForValue().increment(key, delta)
+                .flatMap(total -> redisTemplate.expire(key, counterTtl).thenReturn(total))
+                .doOnNext(total -> tokenBucket.applyGlobalCount(total, delta, now))
+                .doOnError(error -> tokenBucket.restoreUnsynced(delta))
+                .then();
+    }
+
+    @Override
+    public void destroy() {
+        if (sync != null) {
+            sync.dispose();
+        }
+        if (eviction != null) {
+            eviction.dispose();
+        }
+    }
+}
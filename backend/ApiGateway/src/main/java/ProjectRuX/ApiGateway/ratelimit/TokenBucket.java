@@ -0,0 +1,96 @@
+package ProjectRuX.ApiGateway.ratelimit;
+
+/**
+ * Local token bucket that also tracks how much it has consumed since the last cluster sync.
+ * <p>
+ * Every bucket with the same key on every gateway instance refills at the same rate; at each sync an instance
+ * reports its own consumption to Redis and subtracts what the other instances consumed in the meantime, so all
+ * copies converge on one shared bucket, lagging by at most one sync interval.
+ */
+class TokenBucket {
+
+    private final int capacity;
+
+    private final double refillPerMillis;
+
+    private double tokens;
+
+    private long lastRefill;
+
+    private long unsynced;
+
+    // Cluster-wide consumption counter as last seen in Redis
+    private long lastGlobalCount = -1;
+
+    private long lastUsed;
+
+    TokenBucket(RateLimitProperties.Limit limit, long now) {
+        this.capacity = limit.getCapacity();
+        this.refillPerMillis = limit.getRefillPerSecond() / 1000.0;
+        this.tokens = capacity;
+        this.lastRefill = now;
+        this.lastUsed = now;
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise the milliseconds until one is available
+     */
+    synchronized long tryConsume(long now) {
+        refill(now);
+        lastUsed = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            unsynced++;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / refillPerMillis);
+    }
+
+    synchronized long drainUnsynced() {
+        long delta = unsynced;
+        unsynced = 0;
+        return delta;
+    }
+
+    // Failed to report: keep the consumption for the next sync
+    synchronized void restoreUnsynced(long delta) {
+        unsynced += delta;
+    }
+
+    // Whether anything was consumed since the last report to Redis
+    synchronized boolean hasUnsynced() {
+        return unsynced != 0;
+    }
+
+    // Not reported this round: the next counter seen also holds what was consumed elsewhere meanwhile,
+    // which is stale by then, so start over from it instead of deducting it all at once
+    synchronized void skipGlobalCount() {
+        lastGlobalCount = -1;
+    }
+
+    /**
+     * Applies the cluster-wide counter after this instance added {@code reported} to it.
+     */
+    synchronized void applyGlobalCount(long globalCount, long reported, long now) {
+        if (lastGlobalCount >= 0 && globalCount >= lastGlobalCount) {
+            long consumedElsewhere = globalCount - lastGlobalCount - reported;
+            if (consumedElsewhere > 0) {
+                refill(now);
+                // Allow a debt of one burst at most, so a stale spike doesn't block the key for long
+                tokens = Math.max(-capacity, tokens - consumedElsewhere);
+            }
+        }
+        lastGlobalCount = globalCount;
+    }
+
+    synchronized boolean isIdle(long now, long idleMillis) {
+        return unsynced == 0 && now - lastUsed > idleMillis;
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerMillis);
+            lastRefill = now;
+        }
+    }
+}
@@ -1,27 +1,75 @@
-//package ProjectRuX.ApiGateway.security;
-//
-//import io.jsonwebtoken.*;
-//import io.jsonwebtoken.security.Keys;
-//import org.springframework.stereotype.Component;
-//
-//import java.security.Key;
-//import java.util.Date;
-//
-//@Component
-//public class JwtUtil {
-//
-//    private static final String SECRET = "mysecretkeymysecretkeymysecretkey12345"; // 32+ chars
-//    private static final long EXPIRATION_TIME = 24 * 60 * 60 * 1000;
-//
-//    private Key getKey() {
-//        return Keys.hmacShaKeyFor(SECRET.getBytes());
-//    }
-//
-//    public Claims validateToken(String token) throws JwtException {
-//        return Jwts.parserBuilder()
-//                .setSigningKey(getKey())
-//                .build()
-//                .parseClaimsJws(token)
-//                .getBody();
-//    }
-//}
+package ProjectRuX.ApiGateway.security;
+
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Verifies JWTs locally with the same key material as the issuing service (jwt.secretKey / jwt.keyId /
+ * jwt.previousKeys), so the gateway does not need to call /auth/user/validate per request.
+ * Only created when {@code auth.verification-mode=local}.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.verification-mode", havingValue = "local")
+public class JwtUtil {
+
+    private final Map<String, Key> keys = new HashMap<>();
+
+    private final Key activeKey;
+
+    // Immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
+
+    public JwtUtil(@Value("${jwt.secretKey}") String secret,
+                   @Value("${jwt.keyId:default}") String activeKeyId,
+                   @Value("${jwt.previousKeys:}") String previousKeys) {
+        this.activeKey = hmacKey(secret);
+        keys.put(activeKeyId, activeKey);
+
+        // Format: kid1:secret1,kid2:secret2
+        for (String entry : previousKeys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator > 0) {
+                keys.putIfAbsent(entry.substring(0, separator).trim(), hmacKey(entry.substring(separator + 1).trim()));
+            }
+        }
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @throws JwtException if the token is expired, malformed or not signed with a known key
+     */
+    public Claims validateToken(String token) throws JwtException {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private Key resolveKey(String keyId) {
+        if (keyId == null) {
+            return activeKey;
+        }
+        Key key = keys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static Key hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
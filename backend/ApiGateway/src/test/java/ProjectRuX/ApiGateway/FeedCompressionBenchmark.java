@@ -0,0 +1,184 @@
+package ProjectRuX.ApiGateway;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to last byte of the post feed ({@code /post/get-all-post}) through the gateway for each response encoding,
+ * with a stub post-service answering a representative feed. The payload size per encoding is printed at setup.
+ * <p>
+ * The gateway runs with Eureka off, the post-service instance given through the simple discovery client, local
+ * JWT verification and rate limiting off, so only routing and compression are measured.
+ * <p>
+ * Run with {@code mvn -P jmh test-compile exec:exec -Djmh.benchmarks=FeedCompressionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedCompressionBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private static final String FEED_PATH = "/post/get-all-post";
+
+    private static final int FEED_SIZE = 50;
+
+    private static final String[] TITLES = {
+            "Open source study planner looking for contributors",
+            "Hackathon team forming for a climate data dashboard",
+            "Indie game studio needs a second pair of hands",
+            "Campus marketplace app, MVP in six weeks",
+            "Recipe recommendation engine side project",
+            "Accessibility audit tool for small business sites",
+            "Peer code review bot for student repositories"};
+
+    private static final String[] DESCRIPTIONS = {
+            "We are building a planner that turns a syllabus into a weekly schedule and nudges you before deadlines.",
+            "Public emissions datasets are scattered and hard to compare; we want one dashboard with sane defaults.",
+            "A cozy 2D farming game with procedural seasons. Art is mostly done, gameplay systems need work.",
+            "Students buy and sell used textbooks and furniture. Payments are out of scope for the first version.",
+            "Suggests recipes from what is already in your fridge, learning from what you actually end up cooking.",
+            "Crawls a site, runs automated checks and explains every issue in plain language with a suggested fix.",
+            "Leaves friendly, specific review comments on pull requests and links to the relevant course material."};
+
+    private static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", "Thursday", "Saturday"};
+
+    @Param({"identity", "gzip", "br"})
+    public String encoding;
+
+    private DisposableServer postService;
+
+    private ConfigurableApplicationContext gateway;
+
+    private HttpClient client;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        byte[] feed = new ObjectMapper().writeValueAsBytes(feed());
+        postService = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get(FEED_PATH, (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .header(HttpHeaders.CONTENT_LENGTH, Integer.toString(feed.length))
+                        .sendByteArray(Mono.just(feed))))
+                .bindNow();
+
+        // Arguments rather than default properties, which application.yml would override
+        gateway = new SpringApplicationBuilder(ApiGatewayApplication.class).run(
+                "--SERVER_NAME=api-gateway",
+                "--SERVER_PORT=0",
+                "--AUTH_SERVER_URL=http://localhost/auth/user/validate",
+                "--EUREKA_SERVER=http://localhost/eureka",
+                "--eureka.client.enabled=false",
+                "--spring.cloud.discovery.client.simple.instances.post-service[0].uri=http://localhost:" + postService.port(),
+                "--auth.verification-mode=local",
+                "--jwt.secretKey=" + SECRET,
+                "--gateway.rate-limit.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.cloud.gateway=WARN");
+        int port = ((ReactiveWebServerApplicationContext) gateway).getWebServer().getPort();
+
+        String token = Jwts.builder()
+                .setSubject("benchmark")
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        // No compress(): the body is read as sent, so its length is the size on the wire
+        client = HttpClient.create()
+                .baseUrl("http://localhost:" + port)
+                .headers(headers -> headers
+                        .set(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .set(HttpHeaders.ACCEPT_ENCODING, encoding));
+
+        String contentEncoding = client.get().uri(FEED_PATH)
+                .responseSingle((response, body) -> Mono.justOrEmpty(response.responseHeaders().get(HttpHeaders.CONTENT_ENCODING)))
+                .block();
+        System.out.printf("%nFeed payload: %d bytes uncompressed, %d bytes with Accept-Encoding %s (Content-Encoding: %s)%n",
+                feed.length, getFeed(), encoding, contentEncoding == null ? "none" : contentEncoding);
+    }
+
+    @TearDown
+    public void tearDown() {
+        gateway.close();
+        postService.disposeNow();
+    }
+
+    @Benchmark
+    public int getFeed() {
+        return client.get().uri(FEED_PATH)
+                .responseSingle((response, body) -> body.asByteArray())
+                .map(body -> body.length)
+                .block();
+    }
+
+    private static List<Map<String, Object>> feed() {
+        String[] roles = {"BACKEND_DEVELOPER", "FRONTEND_DEVELOPER", "UI_UX_DESIGNER", "DEVOPS_ENGINEER"};
+        String[][] skills = {{"JAVA", "SPRING_BOOT", "MONGODB"}, {"REACT", "TYPESCRIPT", "TAILWIND"},
+                {"FIGMA", "PROTOTYPING"}, {"DOCKER", "KUBERNETES", "AWS"}};
+
+        List<Map<String, Object>> posts = new ArrayList<>(FEED_SIZE);
+        for (int i = 0; i < FEED_SIZE; i++) {
+            Map<String, Object> post = new LinkedHashMap<>();
+            post.put("id", String.format("65a1f0c2e4b0%012d", i));
+            post.put("title", TITLES[i % TITLES.length] + " #" + i);
+            post.put("description", DESCRIPTIONS[i % DESCRIPTIONS.length] + " We meet every " + DAYS[i % DAYS.length]
+                    + " and work async otherwise; " + (3 + i % 6) + " people on the team so far.");
+            post.put("createdBy", String.format("64f1c0ffee%014d", i % 17));
+            post.put("status", i % 5 == 0 ? "CLOSED" : "OPEN");
+            post.put("createdAt", "2026-10-" + String.format("%02d", 1 + i % 28) + "T12:00:00");
+
+            List<Map<String, Object>> rolesRequired = new ArrayList<>();
+            for (int r = 0; r < 1 + i % 3; r++) {
+                int role = (i + r) % roles.length;
+                rolesRequired.add(Map.of("role", roles[role], "requiredSkills", List.of(skills[role]), "count", 1 + r));
+            }
+            post.put("rolesRequired", rolesRequired);
+
+            List<Map<String, Object>> applicants = new ArrayList<>();
+            for (int a = 0; a < i % 4; a++) {
+                applicants.add(Map.of("userId", String.format("64f1c0ffee%014d", 100 + i * 4 + a),
+                        "role", roles[a % roles.length], "status", "PENDING"));
+            }
+            post.put("applicants", applicants);
+            posts.add(post);
+        }
+        return posts;
+    }
+}
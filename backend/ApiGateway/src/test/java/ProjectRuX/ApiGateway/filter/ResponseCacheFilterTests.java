@@ -0,0 +1,118 @@
+package ProjectRuX.ApiGateway.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the filter through the gateway's own {@link FilteringWebHandler}, with stand-ins for the routing filter
+ * and for {@link NettyWriteResponseFilter}, which writes the proxied body through the exchange it was handed.
+ */
+class ResponseCacheFilterTests {
+
+	private static final String BODY = "[\"JAVA\",\"PYTHON\"]";
+
+	// Set once the stand-in service has answered, so the writer knows there is a body to write
+	private static final String ANSWERED_ATTR = "downstream.answered";
+
+	private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+	private final ResponseCacheFilter cacheFilter =
+			new ResponseCacheFilter(true, "/post/get-all-skills", Duration.ofHours(1), 262144);
+
+	private final Route route = Route.async()
+			.id("post-service")
+			.uri("http://post-service")
+			.predicate(exchange -> true)
+			.filter(cacheFilter)
+			.build();
+
+	private final FilteringWebHandler handler = new FilteringWebHandler(List.of(new WriteResponse(), new Downstream()));
+
+	@Test
+	void secondIdenticalGetIsServedFromCache() {
+		MockServerWebExchange first = get("/post/get-all-skills");
+		handler.handle(first).block();
+
+		MockServerWebExchange second = get("/post/get-all-skills");
+		handler.handle(second).block();
+
+		assertThat(downstreamCalls).hasValue(1);
+		assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+		assertThat(second.getResponse().getHeaders().getETag()).isEqualTo(first.getResponse().getHeaders().getETag());
+	}
+
+	@Test
+	void queryStringDoesNotCreateNewEntries() {
+		handler.handle(get("/post/get-all-skills?a=1")).block();
+		handler.handle(get("/post/get-all-skills?a=2")).block();
+
+		assertThat(downstreamCalls).hasValue(1);
+	}
+
+	@Test
+	void otherPathsAreNotCached() {
+		handler.handle(get("/post/feed")).block();
+		handler.handle(get("/post/feed")).block();
+
+		assertThat(downstreamCalls).hasValue(2);
+	}
+
+	private MockServerWebExchange get(String uri) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		return exchange;
+	}
+
+	// Like NettyRoutingFilter: calls the service and copies status and headers; the body is written later
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	private class Downstream implements GlobalFilter {
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+			downstreamCalls.incrementAndGet();
+			exchange.getResponse().setStatusCode(HttpStatus.OK);
+			exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			exchange.getAttributes().put(ANSWERED_ATTR, true);
+			return chain.filter(exchange);
+		}
+	}
+
+	// Like NettyWriteResponseFilter: writes through the exchange captured at its own position in the chain
+	@Order(NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER)
+	private static class WriteResponse implements GlobalFilter {
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+			return chain.filter(exchange).then(Mono.defer(() -> {
+				if (exchange.getAttribute(ANSWERED_ATTR) == null) {
+					return Mono.empty();
+				}
+				byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+				exchange.getResponse().getHeaders().set(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.length));
+				return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+			}));
+		}
+	}
+}
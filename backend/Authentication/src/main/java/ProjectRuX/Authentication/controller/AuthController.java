@@ -23,8 +23,8 @@ public class AuthController {
 
     @PostMapping("/signup") // Endpoint is OPEN
     public ResponseEntity<Map<String, String>> signup(@RequestBody AuthUserDto authUserDto){
-        Map<String, String> token = userService.signup(authUserDto);
-        return ResponseEntity.ok(token);
+        Map<String, String> status = userService.signup(authUserDto);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
     }
 
     @PostMapping("/login") // Endpoint is OPEN
@@ -40,7 +40,6 @@ public class AuthController {
     @PostMapping("/validate") // Endpoint is OPEN
     public ResponseEntity<Map<String, String>> validateToken(@RequestHeader("Authorization") String authHeader) {
         try {
-            System.out.println("Auth Header received: " + authHeader);
             String token = authHeader.startsWith("Bearer ") ? authHeader.substring(7) : authHeader;
             String username = jwtUtil.validateToken(token);
             Map<String, String> response = new HashMap<>();
@@ -1,21 +1,41 @@
 package ProjectRuX.Authentication.entity;
 
+import ProjectRuX.Authentication.enums.ProvisioningStatus;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @Document(collection = "auth_user")
+@CompoundIndex(name = "provisioning", def = "{'provisioningStatus': 1, 'nextProvisioningAt': 1}", sparse = true)
 public class AuthUser {
 
     @Id
     private String id;
 
+    @Indexed(unique = true)
     private String username;
 
+    @Indexed(unique = true)
     private String email;
 
     private String password;
+
+    // Provisioning of the matching UserManagement user. Kept on the same document as the user so the
+    // local insert and the pending event are written atomically; cleared once delivered.
+    private ProvisioningStatus provisioningStatus;
+
+    private int provisioningAttempts;
+
+    private LocalDateTime nextProvisioningAt;
+
+    private LocalDateTime provisioningLockedUntil;
+
+    private String provisioningError;
 }
@@ -0,0 +1,7 @@
+package ProjectRuX.Authentication.enums;
+
+public enum ProvisioningStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,13 @@
+package ProjectRuX.Authentication.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.FORBIDDEN)
+public class AccountNotReadyException extends RuntimeException{
+
+    public AccountNotReadyException(String message){
+        super(message);
+    }
+
+}
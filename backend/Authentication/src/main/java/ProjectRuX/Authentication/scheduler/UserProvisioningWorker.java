@@ -0,0 +1,151 @@
+package ProjectRuX.Authentication.scheduler;
+
+import ProjectRuX.Authentication.entity.AuthUser;
+import ProjectRuX.Authentication.enums.ProvisioningStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates the UserManagement user for every {@link AuthUser} still marked PENDING, off the signup request path.
+ * <p>
+ * Each user is claimed with findAndModify (with a lease, so a crashed instance's claim expires) and posted with
+ * the AuthUser id as {@code Idempotency-Key}; UserManagement answers a replay of the same key with success, so a
+ * request that timed out after being applied is safe to retry. Failures back off exponentially and are marked
+ * FAILED after {@code auth.provisioning.maxAttempts}. The user is kept, so its username and email stay taken;
+ * login only issues tokens once the user is DONE, so a FAILED user never holds one.
+ */
+@Slf4j
+@Component
+public class UserProvisioningWorker {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Value("${auth.userService.url}")
+    private String userServiceUrl;
+
+    @Value("${auth.internalSharedKey}")
+    private String internalSharedKey;
+
+    @Value("${auth.provisioning.batchSize:50}")
+    private int batchSize;
+
+    @Value("${auth.provisioning.maxAttempts:10}")
+    private int maxAttempts;
+
+    @Value("${auth.provisioning.backoffSeconds:5}")
+    private long backoffSeconds;
+
+    @Value("${auth.provisioning.maxBackoffSeconds:600}")
+    private long maxBackoffSeconds;
+
+    @Value("${auth.provisioning.leaseSeconds:60}")
+    private long leaseSeconds;
+
+    @Scheduled(fixedDelayString = "${auth.provisioning.pollIntervalMs:1000}")
+    public void provisionPending() {
+        AuthUser user;
+        int processed = 0;
+        while (processed < batchSize && (user = claim()) != null) {
+            provision(user);
+            processed++;
+        }
+    }
+
+    private AuthUser claim() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("provisioningStatus").is(ProvisioningStatus.PENDING)
+                .and("nextProvisioningAt").lte(now)
+                .orOperator(
+                        Criteria.where("provisioningLockedUntil").exists(false),
+                        Criteria.where("provisioningLockedUntil").lt(now)))
+                .with(Sort.by(Sort.Direction.ASC, "nextProvisioningAt"));
+        Update update = new Update()
+                .set("provisioningLockedUntil", now.plusSeconds(leaseSeconds))
+                .inc("provisioningAttempts", 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), AuthUser.class);
+    }
+
+    private void provision(AuthUser user) {
+        Map<String, String> userData = new HashMap<>();
+        userData.put("username", user.getUsername());
+        userData.put("email", user.getEmail());
+        userData.put("password", user.getPassword());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Internal-Secret", internalSharedKey);
+        headers.set("Idempotency-Key", user.getId());
+
+        try {
+            restTemplate.postForEntity(userServiceUrl, new HttpEntity<>(userData, headers), String.class);
+            markDone(user);
+        } catch (HttpClientErrorException e) {
+            // 4xx other than 429 won't succeed on retry (e.g. the email is taken by a different user)
+            if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                reschedule(user, e);
+            } else {
+                markFailed(user, e);
+            }
+        } catch (Exception e) {
+            reschedule(user, e);
+        }
+    }
+
+    private void markDone(AuthUser user) {
+        update(user, new Update()
+                .set("provisioningStatus", ProvisioningStatus.DONE)
+                .unset("nextProvisioningAt")
+                .unset("provisioningLockedUntil")
+                .unset("provisioningError"));
+    }
+
+    private void markFailed(AuthUser user, Exception e) {
+        log.error("Provisioning user {} in UserManagement failed permanently after {} attempts",
+                user.getId(), user.getProvisioningAttempts(), e);
+        update(user, new Update()
+                .set("provisioningStatus", ProvisioningStatus.FAILED)
+                .set("provisioningError", String.valueOf(e.getMessage()))
+                .unset("provisioningLockedUntil"));
+    }
+
+    private void reschedule(AuthUser user, Exception e) {
+        if (user.getProvisioningAttempts() >= maxAttempts) {
+            markFailed(user, e);
+            return;
+        }
+        long delay = Math.min(maxBackoffSeconds, backoffSeconds << Math.min(user.getProvisioningAttempts() - 1, 20));
+        log.warn("Provisioning user {} failed (attempt {}), retrying in {}s: {}",
+                user.getId(), user.getProvisioningAttempts(), delay, e.getMessage());
+        update(user, new Update()
+                .set("nextProvisioningAt", LocalDateTime.now().plusSeconds(delay))
+                .set("provisioningError", String.valueOf(e.getMessage()))
+                .unset("provisioningLockedUntil"));
+    }
+
+    private void update(AuthUser user, Update update) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(user.getId())), update, AuthUser.class);
+    }
+}
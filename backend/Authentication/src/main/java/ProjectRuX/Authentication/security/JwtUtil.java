@@ -5,37 +5,67 @@ import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secretKey}")
-    private String SECRET;
-
     private static final long EXPIRATION = 24 * 60 * 60 * 1000;
 
-    private Key getKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
+    // Signing keys by key id ("kid" header). The active key signs new tokens; previous keys keep
+    // verifying tokens issued before a rotation until they expire.
+    private final Map<String, Key> keys = new HashMap<>();
+
+    private final String activeKeyId;
+
+    private final Key activeKey;
+
+    // Immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
+
+    public JwtUtil(@Value("${jwt.secretKey}") String secret,
+                   @Value("${jwt.keyId:default}") String activeKeyId,
+                   @Value("${jwt.previousKeys:}") String previousKeys) {
+        this.activeKeyId = activeKeyId;
+        this.activeKey = hmacKey(secret);
+        keys.put(activeKeyId, activeKey);
+
+        // Format: kid1:secret1,kid2:secret2
+        for (String entry : previousKeys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator > 0) {
+                keys.putIfAbsent(entry.substring(0, separator).trim(), hmacKey(entry.substring(separator + 1).trim()));
+            }
+        }
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveKey(header.getKeyId());
+                    }
+                })
+                .build();
     }
 
     public String generateToken(String username) {
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, activeKeyId)
                 .setSubject(username)
                 .setIssuer("UserManagement")
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(getKey(), SignatureAlgorithm.HS256)
+                .signWith(activeKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public String validateToken(String token) {
         try {
-            Jws<Claims> claims = Jwts.parserBuilder()
-                    .setSigningKey(getKey())
-                    .build()
-                    .parseClaimsJws(token);
+            Jws<Claims> claims = parser.parseClaimsJws(token);
 
             return claims.getBody().getSubject(); // returns the username if token is valid
         } catch (ExpiredJwtException e) {
@@ -45,4 +75,20 @@ public class JwtUtil {
         }
     }
 
+    // Tokens issued before key ids were introduced carry no kid and were signed with the active secret
+    private Key resolveKey(String keyId) {
+        if (keyId == null) {
+            return activeKey;
+        }
+        Key key = keys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static Key hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
 }
@@ -1,24 +1,20 @@
 package ProjectRuX.Authentication.service;
 
 import ProjectRuX.Authentication.entity.AuthUser;
+import ProjectRuX.Authentication.enums.ProvisioningStatus;
+import ProjectRuX.Authentication.exception.AccountNotReadyException;
 import ProjectRuX.Authentication.exception.ResourceAlreadyExists;
 import ProjectRuX.Authentication.exception.ResourceNotFoundException;
 import ProjectRuX.Authentication.model.AuthUserDto;
 import ProjectRuX.Authentication.repository.UserRepository;
 import ProjectRuX.Authentication.security.JwtUtil;
-import jakarta.ws.rs.core.MediaType;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Bean;
-import org.springframework.http.ResponseEntity;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import org.springframework.http.HttpHeaders;
-import java.util.HashMap;
+import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Optional;
 
@@ -37,67 +33,45 @@ public class UserServiceImpl implements UserService{
     @Autowired
     JwtUtil jwtUtil;
 
-    @Autowired
-    private RestTemplate restTemplate;
-
-    @Value("${auth.userService.url}")
-    private String authServiceUrl;
-
-    @Value("${auth.internalSharedKey}")
-    private String internalSharedKey;
-
     /**
      * Creates a new user in the system.
      * <p>
      * This method performs the following actions:
      * <ul>
-     *     <li>Checks if a user with the provided email already exists.</li>
-     *     <li>Checks if a user with the provided username already exists.</li>
      *     <li>Encrypts the user's password using BCrypt.</li>
-     *     <li>Maps the incoming UserDto to a User entity and saves it in the database.</li>
-     *     <li>Returns the saved user data mapped back to a UserDto.</li>
+     *     <li>Inserts the user; the unique email and username indexes reject duplicates.</li>
+     *     <li>Marks the user as pending provisioning; the matching UserManagement user is created
+     *     asynchronously by {@link ProjectRuX.Authentication.scheduler.UserProvisioningWorker}.</li>
+     *     <li>Returns the provisioning status. No JWT is issued here: {@link #login} issues one once provisioning
+     *     is DONE, so no token ever exists for an account that ends up FAILED.</li>
      * </ul>
      *
      * @param authUserDto The user data transfer object containing input details.
-     * @return The created user's data transfer object.
+     * @return The new user's provisioning status.
      * @throws ResourceAlreadyExists If the email or username already exists in the database.
      */
     @Override
     public Map<String, String> signup(AuthUserDto authUserDto) {
-
-        if (userRepository.findByEmail(authUserDto.getEmail()).isPresent()){
-            throw new ResourceAlreadyExists("Email: '" + authUserDto.getEmail() + "' Already Exists");
-        }
-
-        if (userRepository.findByUsername(authUserDto.getUsername()).isPresent()){
-            throw new ResourceAlreadyExists("Username: '" + authUserDto.getUsername() + "' Already Exists");
-        }
-
         String encodedPassword = passwordEncoder.encode(authUserDto.getPassword());
         AuthUser user = modelMapper.map(authUserDto, AuthUser.class);
         user.setPassword(encodedPassword);
+        user.setProvisioningStatus(ProvisioningStatus.PENDING);
+        user.setNextProvisioningAt(LocalDateTime.now());
 
-        // Construct the payload
-        Map<String, String> userData = new HashMap<>();
-        userData.put("username", authUserDto.getUsername());
-        userData.put("email", authUserDto.getEmail());
-        userData.put("password", encodedPassword);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(org.springframework.http.MediaType.valueOf(MediaType.APPLICATION_JSON));
-        headers.set("Internal-Secret", internalSharedKey);
-
-        HttpEntity<Map<String, String>> request = new HttpEntity<>(userData, headers);
-
-        ResponseEntity<String> response = restTemplate.postForEntity(
-                authServiceUrl, request, String.class
-        );
+        try {
+            userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            throw alreadyExists(e, authUserDto);
+        }
+        return Map.of("status", ProvisioningStatus.PENDING.name());
+    }
 
-        if (!response.getStatusCode().is2xxSuccessful()) {
-            throw new RuntimeException("User creation in UserManagement failed");
+    // Duplicate key errors name the violated index ("index: email dup key ..."), which tells the two conflicts apart
+    private ResourceAlreadyExists alreadyExists(DuplicateKeyException e, AuthUserDto authUserDto) {
+        if (String.valueOf(e.getMessage()).contains("index: email")) {
+            return new ResourceAlreadyExists("Email: '" + authUserDto.getEmail() + "' Already Exists");
         }
-        AuthUser savedUser = userRepository.save(user);
-        return Map.of("token", jwtUtil.generateToken(authUserDto.getUsername()));
+        return new ResourceAlreadyExists("Username: '" + authUserDto.getUsername() + "' Already Exists");
     }
 
     public Map<String, String> login(AuthUserDto authUserDto){
@@ -116,6 +90,14 @@ public class UserServiceImpl implements UserService{
             throw new ResourceNotFoundException("Incorrect Password");
         }
 
+        // Users from before provisioning was tracked have no status and are fully set up
+        if (authUser.getProvisioningStatus() == ProvisioningStatus.PENDING) {
+            throw new AccountNotReadyException("Account is still being set up, please try again shortly");
+        }
+        if (authUser.getProvisioningStatus() == ProvisioningStatus.FAILED) {
+            throw new AccountNotReadyException("Account setup failed, please contact support");
+        }
+
         return Map.of("token", jwtUtil.generateToken(authUserDto.getUsername()));
     }
 }
\ No newline at end of file
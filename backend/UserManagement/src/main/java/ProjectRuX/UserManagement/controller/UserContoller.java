@@ -23,11 +23,12 @@ public class UserContoller {
 
     @PostMapping("/test/create")
     public ResponseEntity<?> createUser(@RequestBody UserDto userDto,
-                                        @RequestHeader(value = "Internal-Secret", required = false) String secret) {
+                                        @RequestHeader(value = "Internal-Secret", required = false) String secret,
+                                        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         if (!internalSharedKey.equals(secret)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Unauthorized");
         }
-        UserDto user = userService.signupTest(userDto);
+        UserDto user = userService.signupTest(userDto, idempotencyKey);
         return ResponseEntity.ok("User created");
     }
 
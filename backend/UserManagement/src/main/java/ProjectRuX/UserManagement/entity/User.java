@@ -3,6 +3,7 @@ package ProjectRuX.UserManagement.entity;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -16,12 +17,18 @@ public class User {
     @Id
     private String id;
 
+    @Indexed(unique = true)
     private String username;
 
+    @Indexed(unique = true)
     private String email;
 
     private String password;
 
+    // Idempotency-Key of the internal create request that made this user, so a retried request is recognised
+    @Indexed(unique = true, sparse = true)
+    private String provisioningKey;
+
     private List<String> skills;
 
     private String bio;
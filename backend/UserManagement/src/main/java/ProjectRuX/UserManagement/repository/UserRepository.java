@@ -12,4 +12,6 @@ public interface UserRepository extends MongoRepository<User, String> {
 
     Optional<User> findByUsername(String username);
 
+    Optional<User> findByProvisioningKey(String provisioningKey);
+
 }
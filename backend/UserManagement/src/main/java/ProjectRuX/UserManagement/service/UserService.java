@@ -9,7 +9,7 @@ public interface UserService {
 
     public UserDto signup(UserDto userDto);
 
-    public UserDto signupTest(UserDto userDto);
+    public UserDto signupTest(UserDto userDto, String idempotencyKey);
 
 //    public String login(UserDto userDto);
 
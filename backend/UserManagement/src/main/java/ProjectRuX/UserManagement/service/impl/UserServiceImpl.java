@@ -10,6 +10,7 @@ import ProjectRuX.UserManagement.repository.UserRepository;
 import ProjectRuX.UserManagement.service.UserService;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -44,20 +45,51 @@ public class UserServiceImpl implements UserService {
      *
      * <strong>Note:</strong> This method currently stores the password as plain text.
      * It is recommended to encode the password using a password encoder before saving.
+     * <p>
+     * Requests are retried by Authentication, so a repeated {@code idempotencyKey} returns the user
+     * created by the first request instead of failing as a duplicate.
      *
      * @param userDto A {@link UserDto} object containing the user's registration information.
+     * @param idempotencyKey The caller's key for this create request, or {@code null}.
      * @return A {@link UserDto} object containing the saved user's information.
      */
-    public UserDto signupTest(UserDto userDto){
+    public UserDto signupTest(UserDto userDto, String idempotencyKey){
         User user = modelMapper.map(userDto, User.class);
         user.setEmail(userDto.getEmail());
         user.setPassword(userDto.getPassword());
         user.setUsername(userDto.getUsername());
-
-        User savedUser = userRepository.save(user);
+        user.setProvisioningKey(idempotencyKey);
+
+        User savedUser;
+        try {
+            savedUser = userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            if (idempotencyKey != null) {
+                Optional<User> existing = userRepository.findByProvisioningKey(idempotencyKey);
+                if (existing.isPresent()) {
+                    return modelMapper.map(existing.get(), UserDto.class);
+                }
+            }
+            throw alreadyExists(e, userDto);
+        }
         return modelMapper.map(savedUser, UserDto.class);
     }
 
+    /**
+     * Maps a unique index violation to the matching conflict. Duplicate key errors name the violated
+     * index ("index: email dup key ..."), which tells the email and username conflicts apart.
+     *
+     * @param e       The duplicate key error raised by the insert.
+     * @param userDto The user data that was being inserted.
+     * @return A {@link ResourceAlreadyExists} naming the conflicting email or username.
+     */
+    private ResourceAlreadyExists alreadyExists(DuplicateKeyException e, UserDto userDto) {
+        if (String.valueOf(e.getMessage()).contains("index: email")) {
+            return new ResourceAlreadyExists("Email: '" + userDto.getEmail() + "' Already Exists");
+        }
+        return new ResourceAlreadyExists("Username: '" + userDto.getUsername() + "' Already Exists");
+    }
+
     /**
      * Retrieves a {@link User} entity by its unique identifier.
      *
@@ -78,10 +110,9 @@ public class UserServiceImpl implements UserService {
      * <p>
      * This method performs the following actions:
      * <ul>
-     *     <li>Checks if a user with the provided email already exists.</li>
-     *     <li>Checks if a user with the provided username already exists.</li>
      *     <li>Encrypts the user's password using BCrypt.</li>
-     *     <li>Maps the incoming UserDto to a User entity and saves it in the database.</li>
+     *     <li>Maps the incoming UserDto to a User entity and inserts it; the unique email and
+     *     username indexes reject duplicates.</li>
      *     <li>Returns the saved user data mapped back to a UserDto.</li>
      * </ul>
      *
@@ -91,20 +122,17 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public UserDto signup(UserDto userDto) {
-        if (userRepository.findByEmail(userDto.getEmail()).isPresent()){
-            throw new ResourceAlreadyExists("Email: '" + userDto.getEmail() + "' Already Exists");
-        }
-
-        if (userRepository.findByUsername(userDto.getUsername()).isPresent()){
-            throw new ResourceAlreadyExists("Username: '" + userDto.getUsername() + "' Already Exists");
-        }
-
         String encodedPassword = passwordEncoder.encode(userDto.getPassword());
 
         User user = modelMapper.map(userDto, User.class);
         user.setPassword(encodedPassword);
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            throw alreadyExists(e, userDto);
+        }
 
         return modelMapper.map(savedUser, UserDto.class);
     }
@@ -0,0 +1,75 @@
+package com.projectrux.cache;
+
+import com.projectrux.enums.Roles;
+import com.projectrux.enums.Skill;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+    private Map<String, Region> regions = new HashMap<>();
+
+    private WarmUp warmUp = new WarmUp();
+
+    @Getter
+    @Setter
+    public static class Region {
+
+        // Namespace for the region's keys, e.g. "post" -> "post:v1:<id>"
+        private String prefix;
+
+        // Bump when the cached DTO shape changes; old entries are simply never read again
+        private int version = 1;
+
+        private long ttlSeconds = 900;
+
+        // Fraction of the TTL added at random on each write so entries don't expire together
+        private double ttlJitter = 0.1;
+
+        // Values serializing larger than this are not cached (0 = no limit)
+        private int maxValueBytes = 0;
+
+    }
+
+    @Getter
+    @Setter
+    public static class WarmUp {
+
+        private boolean enabled = true;
+
+        // Number of OPEN posts to preload
+        private int limit = 500;
+
+        // Post field the hot set is ranked by, descending: "updatedAt" or "applied"
+        private String orderBy = "updatedAt";
+
+        private int batchSize = 100;
+
+        private int parallelism = 4;
+
+        private long timeoutSeconds = 60;
+
+        // Feed filters (as passed to /post/get-all-post) whose posts are preloaded as well
+        private List<FeedQuery> feedQueries = new ArrayList<>();
+
+    }
+
+    @Getter
+    @Setter
+    public static class FeedQuery {
+
+        private Roles role;
+
+        private Skill skill;
+
+    }
+}
@@ -0,0 +1,195 @@
+package com.projectrux.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectrux.service.RedisService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * A named slice of the Redis keyspace with its own key prefix, schema version, TTL and size limit.
+ * <p>
+ * Values are stored as JSON strings under {@code <prefix>:v<version>:<id>}, so bumping the version
+ * orphans every entry written with the previous DTO shape. Hits, misses, load time and value sizes
+ * are published per region as {@code cache.region.*} metrics.
+ */
+@Slf4j
+public class CacheRegion {
+
+    private final String name;
+
+    private final String keyPrefix;
+
+    private final CacheProperties.Region config;
+
+    private final RedisService redisService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter rejected;
+
+    private final Timer loadTimer;
+
+    private final DistributionSummary valueSize;
+
+    public CacheRegion(String name, CacheProperties.Region config, RedisService redisService,
+                       ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.keyPrefix = config.getPrefix() + ":v" + config.getVersion() + ":";
+        this.config = config;
+        this.redisService = redisService;
+        this.objectMapper = objectMapper;
+
+        this.hits = Counter.builder("cache.region.gets").tag("region", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.region.gets").tag("region", name).tag("result", "miss").register(meterRegistry);
+        this.rejected = Counter.builder("cache.region.rejected").tag("region", name).register(meterRegistry);
+        this.loadTimer = Timer.builder("cache.region.load").tag("region", name).register(meterRegistry);
+        this.valueSize = DistributionSummary.builder("cache.region.value.size").tag("region", name)
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String key(String id) {
+        return keyPrefix + id;
+    }
+
+    public <T> T get(String id, Class<T> type) {
+        return get(id, objectMapper.constructType(type));
+    }
+
+    public <T> T get(String id, TypeReference<T> typeRef) {
+        return get(id, objectMapper.constructType(typeRef));
+    }
+
+    /**
+     * Returns the cached value, or runs {@code loader}, caches and returns its result on a miss.
+     */
+    public <T> T getOrLoad(String id, Class<T> type, Supplier<T> loader) {
+        T cached = get(id, type);
+        if (cached != null) {
+            return cached;
+        }
+
+        T loaded = loadTimer.record(loader);
+        if (loaded != null) {
+            put(id, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Looks up all ids with a single MGET. The result is aligned with {@code ids}, misses are {@code null}.
+     */
+    public <T> List<T> getAll(List<String> ids, Class<T> type) {
+        List<String> keys = ids.stream().map(this::key).toList();
+        List<String> values = redisService.multiGet(keys, String.class);
+
+        List<T> result = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            result.add(read(keys.get(i), values.get(i), objectMapper.constructType(type)));
+        }
+        return result;
+    }
+
+    public void put(String id, Object value) {
+        String json = write(id, value);
+        if (json != null) {
+            redisService.set(key(id), json, ttlSeconds());
+        }
+    }
+
+    /**
+     * Writes all entries in one pipelined round trip, each with its own jittered TTL.
+     */
+    public void putAll(Map<String, ?> values) {
+        redisService.multiSet(serializeAll(values), this::ttlSeconds);
+    }
+
+    /**
+     * Like {@link #putAll}, but only for ids that have no entry yet, so a snapshot can't overwrite a value
+     * a concurrent write-through has just refreshed.
+     */
+    public void putAllIfAbsent(Map<String, ?> values) {
+        redisService.multiSetIfAbsent(serializeAll(values), this::ttlSeconds);
+    }
+
+    public void evict(String id) {
+        redisService.delete(key(id));
+    }
+
+    private Map<String, String> serializeAll(Map<String, ?> values) {
+        Map<String, String> entries = new HashMap<>();
+        values.forEach((id, value) -> {
+            String json = write(id, value);
+            if (json != null) {
+                entries.put(key(id), json);
+            }
+        });
+        return entries;
+    }
+
+    private <T> T get(String id, JavaType type) {
+        String key = key(id);
+        return read(key, redisService.get(key, String.class, null), type);
+    }
+
+    private <T> T read(String key, String json, JavaType type) {
+        if (json == null) {
+            misses.increment();
+            return null;
+        }
+        try {
+            T value = objectMapper.readValue(json, type);
+            hits.increment();
+            return value;
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable cache entry {} in region {}", key, name, e);
+            misses.increment();
+            return null;
+        }
+    }
+
+    private String write(String id, Object value) {
+        try {
+            String json = objectMapper.writeValueAsString(value);
+            int bytes = json.getBytes(StandardCharsets.UTF_8).length;
+            if (config.getMaxValueBytes() > 0 && bytes > config.getMaxValueBytes()) {
+                rejected.increment();
+                log.warn("Not caching {} in region {}: {} bytes exceeds limit of {}", id, name, bytes, config.getMaxValueBytes());
+                evict(id);
+                return null;
+            }
+            valueSize.record(bytes);
+            return json;
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing cache value for {} in region {}", id, name, e);
+            return null;
+        }
+    }
+
+    private long ttlSeconds() {
+        long ttl = config.getTtlSeconds();
+        long jitter = (long) (ttl * config.getTtlJitter());
+        return jitter > 0 ? ttl + ThreadLocalRandom.current().nextLong(jitter + 1) : ttl;
+    }
+}
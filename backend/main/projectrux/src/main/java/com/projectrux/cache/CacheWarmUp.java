@@ -0,0 +1,130 @@
+package com.projectrux.cache;
+
+import com.projectrux.entity.Post;
+import com.projectrux.enums.PostStatus;
+import com.projectrux.model.PostDto;
+import com.projectrux.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Preloads the hot OPEN posts (and the posts behind the configured feed queries) into the post cache
+ * region after a deploy or Redis flush. Runs as an {@link ApplicationRunner}, i.e. before the
+ * application is marked ready to accept traffic, in bounded parallel batches of paged queries.
+ * Entries are only written where none exist yet, so the snapshot never replaces a fresher write-through.
+ */
+@Slf4j
+@Component
+public class CacheWarmUp implements ApplicationRunner {
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ModelMapper mapper;
+
+    @Autowired
+    @Qualifier("postCache")
+    private CacheRegion postCache;
+
+    @Autowired
+    private ObjectProvider<TrackingCache> trackingCache;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        CacheProperties.WarmUp warmUp = cacheProperties.getWarmUp();
+        if (!warmUp.isEnabled()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        AtomicInteger keys = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(warmUp.getParallelism());
+        try {
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+            Sort sort = Sort.by(Sort.Direction.DESC, warmUp.getOrderBy());
+            List<Function<Pageable, List<Post>>> sources = new ArrayList<>();
+            sources.add(pageable -> postRepository.findByStatus(PostStatus.OPEN, pageable));
+            for (CacheProperties.FeedQuery query : warmUp.getFeedQueries()) {
+                sources.add(pageable -> feedPage(query, pageable));
+            }
+
+            int pages = (warmUp.getLimit() + warmUp.getBatchSize() - 1) / warmUp.getBatchSize();
+            for (Function<Pageable, List<Post>> source : sources) {
+                for (int page = 0; page < pages; page++) {
+                    PageRequest pageRequest = PageRequest.of(page, warmUp.getBatchSize(), sort);
+                    // The last page may reach past the limit; only keep what is left of it
+                    int remaining = warmUp.getLimit() - page * warmUp.getBatchSize();
+                    tasks.add(CompletableFuture.runAsync(() -> {
+                        List<PostDto> posts = source.apply(pageRequest).stream()
+                                .limit(remaining)
+                                .map(post -> mapper.map(post, PostDto.class))
+                                .toList();
+                        keys.addAndGet(load(posts));
+                    }, executor));
+                }
+            }
+
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                    .get(warmUp.getTimeoutSeconds(), TimeUnit.SECONDS);
+            log.info("Cache warm-up loaded {} post keys in {} ms", keys.get(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // A cold cache is slower, not broken; never fail startup over it
+            log.warn("Cache warm-up incomplete after {} ms ({} post keys loaded)", System.currentTimeMillis() - start, keys.get(), e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Same filters as PostService#getAllPosts, one page at a time
+    private List<Post> feedPage(CacheProperties.FeedQuery query, Pageable pageable) {
+        if (query.getRole() == null && query.getSkill() == null) {
+            return postRepository.findAll(pageable).getContent();
+        } else if (query.getSkill() == null) {
+            return postRepository.findByRole(query.getRole(), pageable);
+        } else if (query.getRole() == null) {
+            return postRepository.findBySkill(query.getSkill(), pageable);
+        }
+        return postRepository.findByRoleAndSkill(query.getRole(), query.getSkill(), pageable);
+    }
+
+    private int load(List<PostDto> posts) {
+        if (posts.isEmpty()) {
+            return 0;
+        }
+        Map<String, PostDto> postsById = posts.stream()
+                .collect(Collectors.toMap(PostDto::getId, Function.identity(), (a, b) -> a));
+        postCache.putAllIfAbsent(postsById);
+
+        // A key only lands in the local tracking cache through a tracked read
+        TrackingCache tracking = trackingCache.getIfAvailable();
+        if (tracking != null && tracking.isAvailable()) {
+            postsById.keySet().forEach(id -> tracking.get(postCache.key(id)));
+        }
+        return postsById.size();
+    }
+}
@@ -0,0 +1,144 @@
+package com.projectrux.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Count-based circuit breaker in front of every Redis command.
+ * <p>
+ * CLOSED: commands run and their outcomes fill a sliding window of the last {@code windowSize} calls.
+ * Once at least {@code minimumCalls} are recorded and the failure rate reaches the threshold, the breaker
+ * OPENs and callers skip Redis (i.e. go straight to Mongo) for {@code openDurationMs}. It then lets
+ * {@code halfOpenProbes} commands through (HALF_OPEN): all succeeding closes it, any failure re-opens it.
+ * The state is exported as the {@code cache.redis.circuit.state} gauge (0 closed, 1 half-open, 2 open).
+ */
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final double failureRateThreshold;
+
+    private final int minimumCalls;
+
+    private final long openDurationMs;
+
+    private final int halfOpenProbes;
+
+    private final boolean[] window;
+
+    private final Counter rejected;
+
+    private State state = State.CLOSED;
+
+    private int windowIndex;
+
+    private int windowCalls;
+
+    private int windowFailures;
+
+    private long openedAt;
+
+    private int probesPermitted;
+
+    private int probesSucceeded;
+
+    public RedisCircuitBreaker(@Value("${cache.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                               @Value("${cache.circuit-breaker.window-size:20}") int windowSize,
+                               @Value("${cache.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                               @Value("${cache.circuit-breaker.open-duration-ms:5000}") long openDurationMs,
+                               @Value("${cache.circuit-breaker.half-open-probes:3}") int halfOpenProbes,
+                               MeterRegistry meterRegistry) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.openDurationMs = openDurationMs;
+        this.halfOpenProbes = halfOpenProbes;
+
+        Gauge.builder("cache.redis.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("0 = closed, 1 = half-open, 2 = open")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("cache.redis.circuit.rejected").register(meterRegistry);
+    }
+
+    /**
+     * @return {@code true} if the caller may run a Redis command; it must then report
+     *         {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                rejected.increment();
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesPermitted >= halfOpenProbes) {
+                rejected.increment();
+                return false;
+            }
+            probesPermitted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && windowCalls >= minimumCalls
+                && (double) windowFailures / windowCalls >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCalls == window.length) {
+            if (window[windowIndex]) windowFailures--;
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = failure;
+        if (failure) windowFailures++;
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        log.warn("Redis circuit breaker {} -> {}", state, next);
+        state = next;
+        switch (next) {
+            case OPEN -> openedAt = System.currentTimeMillis();
+            case HALF_OPEN -> {
+                probesPermitted = 0;
+                probesSucceeded = 0;
+            }
+            case CLOSED -> {
+                windowIndex = 0;
+                windowCalls = 0;
+                windowFailures = 0;
+            }
+        }
+    }
+}
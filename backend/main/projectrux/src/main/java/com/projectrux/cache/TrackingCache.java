@@ -0,0 +1,190 @@
+package com.projectrux.cache;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.event.connection.ConnectionActivatedEvent;
+import io.lettuce.core.event.connection.ConnectionDeactivatedEvent;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.support.caching.CacheAccessor;
+import io.lettuce.core.support.caching.CacheFrontend;
+import io.lettuce.core.support.caching.ClientSideCaching;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-assisted client-side cache (RESP3 {@code CLIENT TRACKING}).
+ * <p>
+ * Raw values read through {@link #get(String)} are kept in a bounded, in-JVM LRU map; Redis pushes an
+ * invalidation on this connection whenever one of those keys is written, so repeated reads cost no
+ * network round trip and never serve a value Redis has since replaced. While the connection is down the
+ * server stops tracking, so the local map is dropped and {@link #isAvailable()} reports {@code false}
+ * until tracking has been re-enabled on the new connection. Connecting and re-enabling tracking are
+ * retried with exponential backoff until they succeed, so a failed attempt never disables the cache for good.
+ */
+@Slf4j
+public class TrackingCache implements DisposableBean {
+
+    private static final long MIN_RETRY_DELAY_MS = 1_000;
+
+    private static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    private final RedisClient client;
+
+    private final Map<String, String> local;
+
+    private final int maxEntries;
+
+    private final ScheduledExecutorService retryExecutor;
+
+    private final Disposable eventSubscription;
+
+    private StatefulRedisConnection<String, String> connection;
+
+    private volatile CacheFrontend<String, String> frontend;
+
+    private volatile boolean available;
+
+    private final AtomicBoolean retryScheduled = new AtomicBoolean();
+
+    private long retryDelayMs = MIN_RETRY_DELAY_MS;
+
+    private volatile boolean closed;
+
+    private TrackingCache(RedisClient client, int maxEntries) {
+        this.client = client;
+        this.local = lruMap(maxEntries);
+        this.maxEntries = maxEntries;
+        this.retryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-tracking");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.eventSubscription = client.getResources().eventBus().get().subscribe(event -> {
+            if (event instanceof ConnectionDeactivatedEvent) {
+                available = false;
+                local.clear();
+            } else if (event instanceof ConnectionActivatedEvent && frontend != null && !available) {
+                // Lettuce reconnected on its own; tracking is per connection, so turn it back on
+                scheduleEnable(0);
+            }
+        });
+    }
+
+    /**
+     * Creates the cache and tries to connect a dedicated RESP3 connection with tracking enabled. If that
+     * fails (Redis down, or a server without RESP3/tracking) reads fall back to plain GETs while it keeps retrying.
+     */
+    public static TrackingCache connect(RedisProperties properties, Duration commandTimeout, int maxEntries) {
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(properties.getHost())
+                .withPort(properties.getPort())
+                .withDatabase(properties.getDatabase())
+                .withSsl(properties.getSsl().isEnabled());
+        if (StringUtils.hasText(properties.getPassword())) {
+            if (StringUtils.hasText(properties.getUsername())) {
+                uri.withAuthentication(properties.getUsername(), properties.getPassword());
+            } else {
+                uri.withPassword(properties.getPassword().toCharArray());
+            }
+        }
+        uri.withTimeout(commandTimeout);
+
+        RedisClient client = RedisClient.create(uri.build());
+        client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+        TrackingCache cache = new TrackingCache(client, maxEntries);
+        cache.enable();
+        return cache;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Returns the raw (serialized) value, from local memory when tracked, otherwise with a GET.
+     * Only call this while {@link #isAvailable()}.
+     */
+    public String get(String key) {
+        return frontend.get(key);
+    }
+
+    public int size() {
+        return local.size();
+    }
+
+    // Lock-free: it runs on Lettuce's event loop, which enable() may be waiting on for a reply
+    private void scheduleEnable(long delayMs) {
+        if (closed || !retryScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        retryExecutor.schedule(() -> {
+            retryScheduled.set(false);
+            enable();
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void enable() {
+        if (closed || available) {
+            return;
+        }
+        try {
+            if (connection == null) {
+                connection = client.connect();
+            }
+            local.clear();
+            if (frontend == null) {
+                frontend = ClientSideCaching.enable(CacheAccessor.forMap(local), connection, TrackingArgs.Builder.enabled());
+            } else {
+                connection.sync().clientTracking(TrackingArgs.Builder.enabled());
+            }
+            available = true;
+            retryDelayMs = MIN_RETRY_DELAY_MS;
+            log.info("Redis client-side caching enabled (max {} local entries)", maxEntries);
+        } catch (RuntimeException e) {
+            log.warn("Redis client-side caching unavailable, reading without it and retrying in {} ms: {}",
+                    retryDelayMs, e.getMessage());
+            long delay = retryDelayMs;
+            retryDelayMs = Math.min(retryDelayMs * 2, MAX_RETRY_DELAY_MS);
+            scheduleEnable(delay);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        available = false;
+        retryExecutor.shutdownNow();
+        eventSubscription.dispose();
+        if (frontend != null) {
+            frontend.close();
+        }
+        if (connection != null) {
+            connection.close();
+        }
+        client.shutdown();
+    }
+
+    private static Map<String, String> lruMap(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+}
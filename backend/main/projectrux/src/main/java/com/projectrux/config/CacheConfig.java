@@ -0,0 +1,56 @@
+package com.projectrux.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectrux.cache.CacheProperties;
+import com.projectrux.cache.CacheRegion;
+import com.projectrux.service.RedisService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String POST_REGION = "post";
+
+    public static final String USER_POSTS_REGION = "user-posts";
+
+    private final CacheProperties cacheProperties;
+
+    private final RedisService redisService;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    public CacheConfig(CacheProperties cacheProperties, RedisService redisService,
+                       ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.cacheProperties = cacheProperties;
+        this.redisService = redisService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public CacheRegion postCache() {
+        return region(POST_REGION);
+    }
+
+    @Bean
+    public CacheRegion userPostsCache() {
+        return region(USER_POSTS_REGION);
+    }
+
+    private CacheRegion region(String name) {
+        CacheProperties.Region config = cacheProperties.getRegions().get(name);
+        if (config == null) {
+            throw new IllegalStateException("No cache region configured under cache.regions." + name);
+        }
+        if (config.getPrefix() == null) {
+            config.setPrefix(name);
+        }
+        return new CacheRegion(name, config, redisService, objectMapper, meterRegistry);
+    }
+}
@@ -2,15 +2,33 @@ package com.projectrux.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.projectrux.cache.TrackingCache;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 @Configuration
-public class RedisConfig {
+public class RedisConfig implements DisposableBean {
+
+    // Cache reads fall back to Mongo, so they get a much tighter timeout (cache.command-timeout) than the
+    // spring.data.redis.timeout used by OTPs, refresh tokens, revocations and rate limits. Not a bean, so
+    // Spring Boot's own connection factory is still created for everything else.
+    private LettuceConnectionFactory cacheConnectionFactory;
 
     @Bean
     public ObjectMapper objectMapper() {
@@ -34,4 +52,52 @@ public class RedisConfig {
         return redisTemplate;
     }
 
+    // Cache values are JSON text already (see RedisServiceImpl), so they are stored as-is rather than
+    // being wrapped in another layer of JSON by the Jackson serializer.
+    @Bean
+    public RedisTemplate<String, String> cacheRedisTemplate(RedisProperties redisProperties,
+                                                            @Value("${cache.command-timeout:50ms}") Duration commandTimeout) {
+        RedisStandaloneConfiguration server = new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort());
+        server.setDatabase(redisProperties.getDatabase());
+        server.setUsername(redisProperties.getUsername());
+        server.setPassword(RedisPassword.of(redisProperties.getPassword()));
+
+        SocketOptions.Builder socketOptions = SocketOptions.builder();
+        if (redisProperties.getConnectTimeout() != null) {
+            socketOptions.connectTimeout(redisProperties.getConnectTimeout());
+        }
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder client = LettuceClientConfiguration.builder()
+                .commandTimeout(commandTimeout)
+                .clientOptions(ClientOptions.builder().socketOptions(socketOptions.build()).build());
+        if (redisProperties.getSsl().isEnabled()) {
+            client.useSsl();
+        }
+
+        cacheConnectionFactory = new LettuceConnectionFactory(server, client.build());
+        cacheConnectionFactory.afterPropertiesSet();
+        cacheConnectionFactory.start();
+
+        RedisTemplate<String, String> cacheRedisTemplate = new RedisTemplate<>();
+        cacheRedisTemplate.setConnectionFactory(cacheConnectionFactory);
+        cacheRedisTemplate.setKeySerializer(new StringRedisSerializer());
+        cacheRedisTemplate.setValueSerializer(new StringRedisSerializer());
+        return cacheRedisTemplate;
+    }
+
+    // Optional RESP3 client-side cache; reads stay plain while it is unavailable (see TrackingCache#isAvailable)
+    @Bean
+    @ConditionalOnProperty(name = "cache.client-side.enabled", havingValue = "true")
+    public TrackingCache trackingCache(RedisProperties redisProperties,
+                                       @Value("${cache.command-timeout:50ms}") Duration commandTimeout,
+                                       @Value("${cache.client-side.max-entries:10000}") int maxEntries) {
+        return TrackingCache.connect(redisProperties, commandTimeout, maxEntries);
+    }
+
+    @Override
+    public void destroy() {
+        if (cacheConnectionFactory != null) {
+            cacheConnectionFactory.destroy();
+        }
+    }
+
 }
@@ -3,6 +3,10 @@ package com.projectrux.controller;
 import com.projectrux.model.OtoDto;
 import com.projectrux.model.UserDto;
 import com.projectrux.security.JwtUtil;
+import com.projectrux.service.AvailabilityService;
+import com.projectrux.service.RefreshTokenService;
+import com.projectrux.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import com.projectrux.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -22,12 +26,34 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
     @PostMapping("/signup")
     public ResponseEntity<Map<String, String>> signup(@RequestBody UserDto authUserDto){
         Map<String, String> message = userService.signup(authUserDto);
         return ResponseEntity.ok(message);
     }
 
+    @GetMapping("/availability")
+    public ResponseEntity<Map<String, Boolean>> availability(@RequestParam(required = false) String username,
+                                                             @RequestParam(required = false) String email){
+        Map<String, Boolean> available = new HashMap<>();
+        if (username != null && !username.isBlank()) {
+            available.put("username", availabilityService.isUsernameAvailable(username));
+        }
+        if (email != null && !email.isBlank()) {
+            available.put("email", availabilityService.isEmailAvailable(email));
+        }
+        return ResponseEntity.ok(available);
+    }
+
     @PostMapping("/get-userId")
     public ResponseEntity<Map<String, String>> getUserByEmailId(@RequestBody UserDto email){
         Map<String, String> message = userService.getUserByEmailId(email);
@@ -56,6 +82,16 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid credentials"));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, String>> refresh(@RequestBody Map<String, String> body) {
+        Map<String, String> tokens = userService.refresh(body.get("refreshToken"));
+
+        if (!tokens.isEmpty()) {
+            return ResponseEntity.ok(tokens);
+        }
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid or expired refresh token"));
+    }
+
     @PostMapping("/validate")
     public ResponseEntity<Map<String, String>> validateToken(@RequestHeader("Authorization") String authHeader) {
         try {
@@ -76,6 +112,28 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, String>> logout(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                                      @RequestBody(required = false) Map<String, String> body) {
+        // The access token is usually expired by the time a user logs out, so the refresh token is
+        // revoked whether or not it still parses
+        String refreshToken = body == null ? null : body.get("refreshToken");
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+
+        try {
+            String token = authHeader == null ? "" : authHeader.startsWith("Bearer ") ? authHeader.substring(7) : authHeader;
+            Claims claims = jwtUtil.parseToken(token);
+            tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+        } catch (RuntimeException e) {
+            if (refreshToken == null) {
+                return ResponseEntity.status(401).body(Map.of("error", "Invalid or expired token: " + e.getMessage()));
+            }
+        }
+        return ResponseEntity.ok(Map.of("success", "Logged out successfully"));
+    }
+
     @PostMapping("/forgot-password")
     public ResponseEntity<Map<String, String>> forgotPassword(@RequestBody UserDto userDto){
         Map<String, String> message = userService.forgotPassword(userDto);
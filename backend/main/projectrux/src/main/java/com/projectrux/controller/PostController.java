@@ -43,6 +43,12 @@ public class PostController {
         return ResponseEntity.ok(post);
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<List<PostDto>> getPostsByIds(@RequestBody List<String> ids){
+        List<PostDto> posts = postService.getPostsByIds(ids);
+        return ResponseEntity.ok(posts);
+    }
+
     // Get All Post Of That User
     @GetMapping("/get-user-post/{id}")
     public ResponseEntity<List<PostDto>> getUserPostById(@PathVariable String id){
@@ -0,0 +1,45 @@
+package com.projectrux.entity;
+
+import com.projectrux.enums.MailStatus;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@Setter
+@Document(collection = "mail_outbox")
+@CompoundIndex(name = "status_nextAttemptAt", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class MailOutbox {
+
+    @Id
+    private String id;
+
+    private String to;
+
+    private String subject;
+
+    private String body;
+
+    // When set, the body is rendered from this template and model by the worker instead of sent as plain text
+    private String template;
+
+    private Map<String, String> model;
+
+    private MailStatus status;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    // Set while a worker holds the mail; a SENDING mail past this time is picked up again
+    private LocalDateTime lockedUntil;
+
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+}
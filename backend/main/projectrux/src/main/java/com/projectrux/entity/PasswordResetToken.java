@@ -3,6 +3,7 @@ package com.projectrux.entity;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 
@@ -16,8 +17,11 @@ public class PasswordResetToken {
 
     private String userId;
 
+    @Indexed(unique = true)
     private String resetToken;
 
+    // TTL index: Mongo removes the token once expiryTime has passed (its TTL monitor runs about once a minute)
+    @Indexed(expireAfter = "0s")
     private LocalDateTime expiryTime;
 
 }
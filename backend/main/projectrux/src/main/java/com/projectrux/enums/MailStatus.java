@@ -0,0 +1,10 @@
+package com.projectrux.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum MailStatus {
+    PENDING,
+    SENDING,
+    DEAD
+}
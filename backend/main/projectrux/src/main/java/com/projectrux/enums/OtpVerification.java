@@ -0,0 +1,11 @@
+package com.projectrux.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum OtpVerification {
+    VALID,
+    WRONG,
+    LOCKED,
+    MISSING
+}
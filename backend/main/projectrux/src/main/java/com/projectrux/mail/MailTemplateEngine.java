@@ -0,0 +1,113 @@
+package com.projectrux.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mail templates from {@code classpath:templates/mail/*.html}, parsed once at startup into literal and
+ * {@code {{placeholder}}} segments. Rendering appends the segments to a per-thread buffer, HTML-escaping
+ * the values, so a render is a single pass with no template parsing or intermediate strings.
+ */
+@Slf4j
+@Component
+public class MailTemplateEngine {
+
+    private static final String LOCATION = "classpath:templates/mail/*.html";
+
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final Map<String, CompiledTemplate> templates = new HashMap<>();
+
+    private final ThreadLocal<StringBuilder> buffer = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    public MailTemplateEngine() throws IOException {
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            String filename = resource.getFilename();
+            if (filename == null) continue;
+            try (InputStream in = resource.getInputStream()) {
+                String name = filename.substring(0, filename.length() - ".html".length());
+                templates.put(name, compile(name, new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+            }
+        }
+        log.info("Compiled {} mail templates: {}", templates.size(), templates.keySet());
+    }
+
+    public boolean hasTemplate(String name) {
+        return templates.containsKey(name);
+    }
+
+    public String render(String name, Map<String, String> model) {
+        CompiledTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown mail template: " + name);
+        }
+
+        StringBuilder out = buffer.get();
+        out.setLength(0);
+        for (int i = 0; i < template.literals.length; i++) {
+            out.append(template.literals[i]);
+            if (i < template.placeholders.length) {
+                String value = model == null ? null : model.get(template.placeholders[i]);
+                if (value != null) {
+                    escapeHtml(value, out);
+                }
+            }
+        }
+        String rendered = out.toString();
+
+        // Don't let one unusually large mail pin a big buffer to the thread
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            buffer.remove();
+        }
+        return rendered;
+    }
+
+    // literals[i] is followed by placeholders[i]; there is always one more literal than placeholders
+    private static CompiledTemplate compile(String name, String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) break;
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalStateException("Unclosed placeholder in mail template '" + name + "' at offset " + open);
+            }
+            literals.add(source.substring(position, open));
+            placeholders.add(source.substring(open + 2, close).trim());
+            position = close + 2;
+        }
+        literals.add(source.substring(position));
+
+        return new CompiledTemplate(literals.toArray(String[]::new), placeholders.toArray(String[]::new));
+    }
+
+    private static void escapeHtml(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private record CompiledTemplate(String[] literals, String[] placeholders) {
+    }
+}
@@ -0,0 +1,262 @@
+package com.projectrux.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a few authenticated SMTP connections open and sends batches of messages over them, instead of
+ * paying the TCP, STARTTLS and AUTH handshakes for every mail as {@link JavaMailSenderImpl#send} does.
+ * <p>
+ * A connection that breaks mid-batch is reopened once and the failed message retried on it; messages
+ * that still fail are reported back to the caller individually. A connection that could not be reopened
+ * is closed on release instead of going back to the pool.
+ */
+@Slf4j
+@Component
+public class SmtpTransportPool implements DisposableBean {
+
+    private final JavaMailSenderImpl mailSender;
+
+    private final BlockingQueue<PooledTransport> idle;
+
+    private final int maxSize;
+
+    private final long maxIdleMillis;
+
+    private final long borrowTimeoutMillis;
+
+    private final AtomicInteger opened = new AtomicInteger();
+
+    private final Counter sent;
+
+    private final Counter reconnects;
+
+    private final AtomicLong lastBatchRate = new AtomicLong();
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender,
+                             MeterRegistry meterRegistry,
+                             @Value("${mail.transport.poolSize:2}") int maxSize,
+                             @Value("${mail.transport.maxIdleSeconds:60}") long maxIdleSeconds,
+                             @Value("${mail.transport.borrowTimeoutSeconds:30}") long borrowTimeoutSeconds) {
+        this.mailSender = mailSender;
+        this.maxSize = maxSize;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+        this.maxIdleMillis = TimeUnit.SECONDS.toMillis(maxIdleSeconds);
+        this.borrowTimeoutMillis = TimeUnit.SECONDS.toMillis(borrowTimeoutSeconds);
+
+        this.sent = Counter.builder("mail.transport.sent").register(meterRegistry);
+        this.reconnects = Counter.builder("mail.transport.reconnects").register(meterRegistry);
+        Gauge.builder("mail.transport.messages.per.second", lastBatchRate, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("mail.transport.open", opened, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    /**
+     * Sends all messages over one pooled connection.
+     *
+     * @return one entry per message, aligned with {@code messages}: {@code null} when sent, otherwise the failure
+     */
+    public List<Exception> send(List<MimeMessage> messages) {
+        List<Exception> results = new ArrayList<>(messages.size());
+        if (messages.isEmpty()) return results;
+
+        PooledTransport transport;
+        try {
+            transport = borrow();
+        } catch (Exception e) {
+            messages.forEach(message -> results.add(e));
+            return results;
+        }
+
+        long start = System.nanoTime();
+        int delivered = 0;
+        try {
+            for (MimeMessage message : messages) {
+                Exception failure = sendOne(transport, message);
+                results.add(failure);
+                if (failure == null) delivered++;
+            }
+        } finally {
+            release(transport);
+        }
+
+        sent.increment(delivered);
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        lastBatchRate.set(delivered * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        log.debug("Sent {}/{} mails in {} ms", delivered, messages.size(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return results;
+    }
+
+    private Exception sendOne(PooledTransport transport, MimeMessage message) {
+        try {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            transport.send(message);
+            return null;
+        } catch (MessagingException | RuntimeException e) {
+            // A rejected recipient leaves the connection usable; anything that dropped it is retried once.
+            // A closed transport throws IllegalStateException rather than MessagingException.
+            if (e instanceof MessagingException && transport.isConnected()) {
+                return e;
+            }
+            try {
+                reconnects.increment();
+                transport.reconnect();
+                transport.send(message);
+                return null;
+            } catch (MessagingException | RuntimeException retry) {
+                transport.markBroken();
+                return retry;
+            }
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException, InterruptedException {
+        PooledTransport transport = idle.poll();
+        if (transport == null && tryReserve()) {
+            try {
+                return open();
+            } catch (MessagingException | RuntimeException e) {
+                opened.decrementAndGet();
+                throw e;
+            }
+        }
+        if (transport == null) {
+            transport = idle.poll(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (transport == null) {
+                throw new MessagingException("Timed out waiting for an SMTP connection");
+            }
+        }
+
+        // Servers drop idle sessions; reopen rather than fail the first message of the batch
+        if (!transport.isConnected() || transport.idleMillis() > maxIdleMillis) {
+            try {
+                transport.reconnect();
+            } catch (MessagingException | RuntimeException e) {
+                transport.close();
+                opened.decrementAndGet();
+                throw e;
+            }
+        }
+        return transport;
+    }
+
+    private boolean tryReserve() {
+        int current;
+        do {
+            current = opened.get();
+            if (current >= maxSize) return false;
+        } while (!opened.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private PooledTransport open() throws MessagingException {
+        PooledTransport transport = new PooledTransport(mailSender.getSession().getTransport(protocol()));
+        transport.connect();
+        return transport;
+    }
+
+    private void release(PooledTransport transport) {
+        if (transport.isBroken() || !transport.isConnected()) {
+            transport.close();
+            opened.decrementAndGet();
+            return;
+        }
+        transport.touch();
+        if (!idle.offer(transport)) {
+            transport.close();
+            opened.decrementAndGet();
+        }
+    }
+
+    private String protocol() {
+        return mailSender.getProtocol() != null ? mailSender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+    }
+
+    @Override
+    public void destroy() {
+        PooledTransport transport;
+        while ((transport = idle.poll()) != null) {
+            transport.close();
+        }
+    }
+
+    private class PooledTransport {
+
+        private final Transport transport;
+
+        private long lastUsed = System.currentTimeMillis();
+
+        // Set when a reconnect failed; the transport is then discarded instead of pooled
+        private boolean broken;
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        void connect() throws MessagingException {
+            transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        }
+
+        void reconnect() throws MessagingException {
+            close();
+            connect();
+            broken = false;
+        }
+
+        void markBroken() {
+            broken = true;
+        }
+
+        boolean isBroken() {
+            return broken;
+        }
+
+        void send(MimeMessage message) throws MessagingException {
+            transport.sendMessage(message, message.getAllRecipients());
+        }
+
+        boolean isConnected() {
+            return transport.isConnected();
+        }
+
+        long idleMillis() {
+            return System.currentTimeMillis() - lastUsed;
+        }
+
+        void touch() {
+            lastUsed = System.currentTimeMillis();
+        }
+
+        void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Error closing SMTP connection", e);
+            }
+        }
+    }
+}
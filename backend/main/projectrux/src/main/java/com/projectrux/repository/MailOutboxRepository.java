@@ -0,0 +1,17 @@
+package com.projectrux.repository;
+
+import com.projectrux.entity.MailOutbox;
+import com.projectrux.enums.MailStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface MailOutboxRepository extends MongoRepository<MailOutbox, String> {
+
+    long countByStatus(MailStatus status);
+
+    long countByStatusAndLockedUntilBefore(MailStatus status, LocalDateTime time);
+
+}
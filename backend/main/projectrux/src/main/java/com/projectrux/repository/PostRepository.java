@@ -2,8 +2,10 @@ package com.projectrux.repository;
 
 
 import com.projectrux.entity.Post;
+import com.projectrux.enums.PostStatus;
 import com.projectrux.enums.Roles;
 import com.projectrux.enums.Skill;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -15,18 +17,29 @@ public interface PostRepository extends MongoRepository<Post, String> {
 
     List<Post> findByCreatedBy(String id);
 
+    List<Post> findByStatus(PostStatus status, Pageable pageable);
+
     @Query("{ 'applicants.userId': ?0 }")
     List<Post> findAllByApplicantUserId(String userId);
 
     @Query("{ 'rolesRequired.role': ?0 }")
     List<Post> findByRole(Roles role);
 
+    @Query("{ 'rolesRequired.role': ?0 }")
+    List<Post> findByRole(Roles role, Pageable pageable);
+
     // Find posts by skill inside rolesRequired.requiredSkills
     @Query("{ 'rolesRequired.requiredSkills': ?0 }")
     List<Post> findBySkill(Skill skill);
 
+    @Query("{ 'rolesRequired.requiredSkills': ?0 }")
+    List<Post> findBySkill(Skill skill, Pageable pageable);
+
     // Find posts by both role and skill
     @Query("{ 'rolesRequired.role': ?0, 'rolesRequired.requiredSkills': ?1 }")
     List<Post> findByRoleAndSkill(Roles role, Skill skill);
 
+    @Query("{ 'rolesRequired.role': ?0, 'rolesRequired.requiredSkills': ?1 }")
+    List<Post> findByRoleAndSkill(Roles role, Skill skill, Pageable pageable);
+
 }
@@ -5,6 +5,7 @@ import com.projectrux.entity.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +17,10 @@ public interface UserRepository extends MongoRepository<User, String> {
 
     Optional<User> findByUsername(String username);
 
+    List<User> findByEmailOrUsername(String email, String username);
+
+    boolean existsByUsername(String username);
+
+    boolean existsByEmail(String email);
+
 }
@@ -0,0 +1,215 @@
+package com.projectrux.scheduler;
+
+import com.projectrux.entity.MailOutbox;
+import com.projectrux.enums.MailStatus;
+import com.projectrux.mail.MailTemplateEngine;
+import com.projectrux.mail.SmtpTransportPool;
+import com.projectrux.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the {@code mail_outbox} collection. Each worker claims up to {@code mail.outbox.batchSize} mails with
+ * findAndModify, so several workers (and several instances) never send the same mail twice, and sends the batch
+ * over one pooled SMTP connection. A failed mail is retried with exponential backoff and marked DEAD after
+ * {@code mail.outbox.maxAttempts}; sent mails are deleted.
+ */
+@Slf4j
+@Component
+public class MailOutboxWorker implements DisposableBean {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    private final SmtpTransportPool transportPool;
+
+    private final MailTemplateEngine mailTemplateEngine;
+
+    private final ExecutorService workers;
+
+    private final int workerCount;
+
+    private final int batchSize;
+
+    private final int maxAttempts;
+
+    private final long backoffSeconds;
+
+    private final long maxBackoffSeconds;
+
+    private final long leaseSeconds;
+
+    private final AtomicLong depth = new AtomicLong();
+
+    private final Timer sendTimer;
+
+    private final Counter failed;
+
+    private final Counter dead;
+
+    public MailOutboxWorker(MongoTemplate mongoTemplate,
+                            MailOutboxRepository mailOutboxRepository,
+                            SmtpTransportPool transportPool,
+                            MailTemplateEngine mailTemplateEngine,
+                            MeterRegistry meterRegistry,
+                            @Value("${mail.outbox.workers:2}") int workerCount,
+                            @Value("${mail.outbox.batchSize:50}") int batchSize,
+                            @Value("${mail.outbox.maxAttempts:6}") int maxAttempts,
+                            @Value("${mail.outbox.backoffSeconds:10}") long backoffSeconds,
+                            @Value("${mail.outbox.maxBackoffSeconds:3600}") long maxBackoffSeconds,
+                            @Value("${mail.outbox.leaseSeconds:120}") long leaseSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.transportPool = transportPool;
+        this.mailTemplateEngine = mailTemplateEngine;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffSeconds = backoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+        this.leaseSeconds = leaseSeconds;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("mail.outbox.depth", depth, AtomicLong::get).register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.send.batch").register(meterRegistry);
+        this.failed = Counter.builder("mail.send.failed").register(meterRegistry);
+        this.dead = Counter.builder("mail.outbox.dead").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.pollIntervalMs:1000}")
+    public void drain() {
+        // Mails whose worker died mid-send stay SENDING until their lease runs out, then count as waiting again
+        depth.set(mailOutboxRepository.countByStatus(MailStatus.PENDING)
+                + mailOutboxRepository.countByStatusAndLockedUntilBefore(MailStatus.SENDING, LocalDateTime.now()));
+        if (depth.get() == 0) {
+            return;
+        }
+
+        List<Callable<Integer>> tasks = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            tasks.add(this::drainBatch);
+        }
+        try {
+            workers.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int drainBatch() {
+        List<MailOutbox> batch = new ArrayList<>(batchSize);
+        MailOutbox mail;
+        while (batch.size() < batchSize && (mail = claim()) != null) {
+            batch.add(mail);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<MailOutbox> sendable = new ArrayList<>(batch.size());
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (MailOutbox claimed : batch) {
+            try {
+                messages.add(toMimeMessage(claimed));
+                sendable.add(claimed);
+            } catch (MessagingException | RuntimeException e) {
+                failed.increment();
+                reschedule(claimed, e);
+            }
+        }
+
+        Timer.Sample sample = Timer.start();
+        List<Exception> results = transportPool.send(messages);
+        sample.stop(sendTimer);
+
+        List<String> sent = new ArrayList<>(sendable.size());
+        for (int i = 0; i < sendable.size(); i++) {
+            Exception failure = results.get(i);
+            if (failure == null) {
+                sent.add(sendable.get(i).getId());
+            } else {
+                failed.increment();
+                reschedule(sendable.get(i), failure);
+            }
+        }
+        mailOutboxRepository.deleteAllById(sent);
+        return sent.size();
+    }
+
+    private MailOutbox claim() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("status").is(MailStatus.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(MailStatus.SENDING).and("lockedUntil").lt(now)))
+                .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+        Update update = new Update()
+                .set("status", MailStatus.SENDING)
+                .set("lockedUntil", now.plusSeconds(leaseSeconds))
+                .inc("attempts", 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), MailOutbox.class);
+    }
+
+    private MimeMessage toMimeMessage(MailOutbox mail) throws MessagingException {
+        MimeMessage message = transportPool.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setTo(mail.getTo());
+        helper.setSubject(mail.getSubject());
+        if (mail.getTemplate() != null) {
+            helper.setText(mailTemplateEngine.render(mail.getTemplate(), mail.getModel()), true);
+        } else {
+            helper.setText(mail.getBody());
+        }
+        return message;
+    }
+
+    private void reschedule(MailOutbox mail, Exception e) {
+        Update update = new Update().unset("lockedUntil").set("lastError", String.valueOf(e.getMessage()));
+        if (mail.getAttempts() >= maxAttempts) {
+            update.set("status", MailStatus.DEAD);
+            dead.increment();
+            log.error("Giving up on mail {} to {} after {} attempts", mail.getId(), mail.getTo(), mail.getAttempts(), e);
+        } else {
+            long delay = Math.min(maxBackoffSeconds, backoffSeconds << Math.min(mail.getAttempts() - 1, 20));
+            update.set("status", MailStatus.PENDING).set("nextAttemptAt", LocalDateTime.now().plusSeconds(delay));
+            log.warn("Sending mail {} failed (attempt {}), retrying in {}s: {}", mail.getId(), mail.getAttempts(), delay, e.getMessage());
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(mail.getId())), update, MailOutbox.class);
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdown();
+    }
+}
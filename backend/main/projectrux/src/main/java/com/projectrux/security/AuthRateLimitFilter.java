@@ -0,0 +1,142 @@
+package com.projectrux.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectrux.service.RateLimitService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throttles the public auth endpoints that cost BCrypt work or an email send. Each configured route
+ * has a per-IP and a per-account bucket; a request is charged against both and rejected with 429 and
+ * {@code Retry-After} when either is empty.
+ * <p>
+ * The IP is {@link HttpServletRequest#getRemoteAddr()}, which Tomcat's RemoteIpValve
+ * ({@code server.forward-headers-strategy: native}) only resolves from {@code X-Forwarded-For} entries
+ * added by trusted proxies ({@code server.tomcat.remoteip.internal-proxies}), so clients can't pick their own.
+ */
+@Slf4j
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+
+    private final RateLimitService rateLimitService;
+
+    private final ObjectMapper objectMapper;
+
+    public AuthRateLimitFilter(RateLimitProperties properties, RateLimitService rateLimitService,
+                               ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.rateLimitService = rateLimitService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = request.getServletPath();
+        Map.Entry<String, RateLimitProperties.Route> route = findRoute(path);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String name = route.getKey();
+        RateLimitProperties.Route limits = route.getValue();
+        Map<String, RateLimitProperties.Limit> buckets = new LinkedHashMap<>();
+
+        if (limits.getPerIp().isEnabled()) {
+            buckets.put(name + ":ip:" + clientIp(request), limits.getPerIp());
+        }
+
+        HttpServletRequest forwarded = request;
+        if (limits.getPerAccount().isEnabled()) {
+            if (request.getContentLengthLong() > properties.getMaxBodyBytes()) {
+                reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body too large");
+                return;
+            }
+            CachedBodyHttpServletRequest cached = new CachedBodyHttpServletRequest(request, properties.getMaxBodyBytes());
+            if (cached.exceedsLimit()) {
+                reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body too large");
+                return;
+            }
+            forwarded = cached;
+            String account = accountOf(cached, path.substring(limits.getPath().length()));
+            if (account != null) {
+                buckets.put(name + ":account:" + account, limits.getPerAccount());
+            }
+        }
+
+        long retryAfterMillis = rateLimitService.tryConsume(buckets);
+        if (retryAfterMillis > 0) {
+            long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests, retry after " + retryAfterSeconds + " seconds");
+            return;
+        }
+
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String error) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", error));
+    }
+
+    private Map.Entry<String, RateLimitProperties.Route> findRoute(String path) {
+        for (Map.Entry<String, RateLimitProperties.Route> entry : properties.getRoutes().entrySet()) {
+            String routePath = entry.getValue().getPath();
+            if (routePath != null && (path.equals(routePath) || path.startsWith(routePath + "/"))) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    // Email or username from the JSON body, falling back to the trailing path segment (e.g. the userId)
+    private String accountOf(CachedBodyHttpServletRequest request, String pathRemainder) {
+        if (request.getBody().length > 0) {
+            try {
+                JsonNode body = objectMapper.readTree(request.getBody());
+                for (String field : new String[]{"email", "username"}) {
+                    JsonNode value = body == null ? null : body.get(field);
+                    if (value != null && value.isTextual() && !value.asText().isBlank()) {
+                        return value.asText().trim().toLowerCase(Locale.ROOT);
+                    }
+                }
+            } catch (IOException e) {
+                log.debug("Unreadable body on {}", request.getServletPath());
+            }
+        }
+        String segment = pathRemainder.startsWith("/") ? pathRemainder.substring(1) : pathRemainder;
+        return segment.isBlank() ? null : segment;
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
@@ -1,5 +1,6 @@
 package com.projectrux.security;
 
+import com.projectrux.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,8 +17,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
 
-    public JwtAuthFilter(JwtUtil jwtUtil) {
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final TokenRevocationService tokenRevocationService;
+
+    public JwtAuthFilter(JwtUtil jwtUtil, VerifiedTokenCache verifiedTokenCache,
+                         TokenRevocationService tokenRevocationService) {
         this.jwtUtil = jwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -49,7 +57,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
 
             try {
-                String username = jwtUtil.validateToken(token);
+                // Repeat requests with the same token skip signature verification and claim parsing
+                VerifiedTokenCache.VerifiedToken verified = verifiedTokenCache.get(token);
+                if (verified == null) {
+                    verified = verifiedTokenCache.put(token, jwtUtil.parseToken(token));
+                }
+                if (tokenRevocationService.isRevoked(verified.tokenId())) {
+                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token revoked");
+                    return;
+                }
+                String username = verified.subject();
 
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList());
@@ -4,42 +4,80 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secretKey}")
-    private String SECRET;
+    // Signing keys by key id ("kid" header). The active key signs new tokens; previous keys keep
+    // verifying tokens issued before a rotation until they expire.
+    private final Map<String, Key> keys = new HashMap<>();
 
-    private static final long EXPIRATION = 24 * 60 * 60 * 1000;
+    private final String activeKeyId;
 
-    private Key getKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
+    private final Key activeKey;
+
+    // Immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
+
+    // Access tokens are short-lived; sessions are extended through /auth/refresh
+    private final long expirationMillis;
+
+    public JwtUtil(@Value("${jwt.secretKey}") String secret,
+                   @Value("${jwt.keyId:default}") String activeKeyId,
+                   @Value("${jwt.previousKeys:}") String previousKeys,
+                   @Value("${jwt.accessTokenTtlSeconds:900}") long accessTokenTtlSeconds) {
+        this.activeKeyId = activeKeyId;
+        this.expirationMillis = accessTokenTtlSeconds * 1000;
+        this.activeKey = hmacKey(secret);
+        keys.put(activeKeyId, activeKey);
+
+        // Format: kid1:secret1,kid2:secret2
+        for (String entry : previousKeys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator > 0) {
+                keys.putIfAbsent(entry.substring(0, separator).trim(), hmacKey(entry.substring(separator + 1).trim()));
+            }
+        }
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveKey(header.getKeyId());
+                    }
+                })
+                .build();
     }
 
     public String generateToken(Map<String, String> tokenData) {
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, activeKeyId)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(tokenData.get("id"))
                 .claim("username", tokenData.get("username"))
                 .claim("email", tokenData.get("email"))
                 .setIssuer("Auth")
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(getKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + expirationMillis))
+                .signWith(activeKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public String validateToken(String token) {
+        return parseToken(token).getSubject();
+    }
+
+    public Claims parseToken(String token) {
         try {
-            Jws<Claims> claims = Jwts.parserBuilder()
-                    .setSigningKey(getKey())
-                    .build()
-                    .parseClaimsJws(token);
+            Jws<Claims> claims = parser.parseClaimsJws(token);
 
-            return claims.getBody().getSubject();
+            return claims.getBody();
         } catch (ExpiredJwtException e) {
             throw new RuntimeException("Token expired");
         } catch (UnsupportedJwtException | MalformedJwtException | SignatureException | IllegalArgumentException e) {
@@ -47,4 +85,20 @@ public class JwtUtil {
         }
     }
 
+    // Tokens issued before key ids were introduced carry no kid and were signed with the active secret
+    private Key resolveKey(String keyId) {
+        if (keyId == null) {
+            return activeKey;
+        }
+        Key key = keys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static Key hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
 }
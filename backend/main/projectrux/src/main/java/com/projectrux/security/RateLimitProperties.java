@@ -0,0 +1,50 @@
+package com.projectrux.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "auth.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Largest body buffered to find the account on rate-limited routes; bigger requests get 413
+    private int maxBodyBytes = 16384;
+
+    // Keyed by a route name, e.g. "login" -> /auth/login
+    private Map<String, Route> routes = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+
+        // Path prefix the limits apply to; path variables (e.g. /auth/resend-otp/{userId}) are matched by prefix
+        private String path;
+
+        private Limit perIp = new Limit();
+
+        // Keyed by the email/username in the body, or the userId path segment when there is no body identity
+        private Limit perAccount = new Limit();
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        // Burst size; 0 disables the bucket
+        private int capacity;
+
+        private int refillPerMinute;
+
+        public boolean isEnabled() {
+            return capacity > 0 && refillPerMinute > 0;
+        }
+    }
+
+}
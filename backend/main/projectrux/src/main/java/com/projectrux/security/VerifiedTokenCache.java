@@ -0,0 +1,93 @@
+package com.projectrux.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of tokens whose signature and claims have already been verified.
+ * <p>
+ * Entries are keyed by the SHA-256 of the token (the token itself is never kept) and live until the
+ * token's own {@code exp}, capped at {@code jwt.verifiedCache.maxTtlSeconds}. Only tokens that passed
+ * verification are inserted, so sprayed garbage tokens can't grow the cache; the size cap bounds it
+ * against floods of distinct valid tokens.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final long maxTtlMillis;
+
+    private final Map<String, VerifiedToken> entries;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public VerifiedTokenCache(@Value("${jwt.verifiedCache.maxSize:10000}") int maxSize,
+                              @Value("${jwt.verifiedCache.maxTtlSeconds:300}") long maxTtlSeconds,
+                              MeterRegistry meterRegistry) {
+        this.maxTtlMillis = maxTtlSeconds * 1000;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > maxSize;
+            }
+        });
+
+        this.hits = Counter.builder("auth.token.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.token.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("auth.token.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * @return the verified claims of {@code token}, or {@code null} if it has to be verified first
+     */
+    public VerifiedToken get(String token) {
+        String key = hash(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    public VerifiedToken put(String token, Claims claims) {
+        long expiresAt = System.currentTimeMillis() + maxTtlMillis;
+        if (claims.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+        }
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getId(), expiresAt);
+        entries.put(hash(token), verified);
+        return verified;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record VerifiedToken(String subject, String tokenId, long expiresAt) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.projectrux.service;
+
+public interface AvailabilityService {
+
+    public boolean isUsernameAvailable(String username);
+
+    public boolean isEmailAvailable(String email);
+
+    public void register(String username, String email);
+
+}
@@ -1,6 +1,10 @@
 package com.projectrux.service;
 
+import java.util.Map;
+
 public interface MailService {
 
     public void sendMail(String to, String subject, String otp);
+
+    public void sendTemplate(String to, String subject, String template, Map<String, String> model);
 }
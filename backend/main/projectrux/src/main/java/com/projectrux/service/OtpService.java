@@ -0,0 +1,13 @@
+package com.projectrux.service;
+
+import com.projectrux.enums.OtpVerification;
+
+import java.time.Duration;
+
+public interface OtpService {
+
+    public String issue(String userId, Duration ttl);
+
+    public OtpVerification verify(String userId, String code);
+
+}
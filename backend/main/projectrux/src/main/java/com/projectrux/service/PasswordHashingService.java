@@ -0,0 +1,9 @@
+package com.projectrux.service;
+
+public interface PasswordHashingService {
+
+    public String encode(String rawPassword);
+
+    public boolean matches(String rawPassword, String encodedPassword);
+
+}
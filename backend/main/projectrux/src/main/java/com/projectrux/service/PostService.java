@@ -20,6 +20,8 @@ public interface PostService {
 
     public PostDto getPostById(String id);
 
+    public List<PostDto> getPostsByIds(List<String> ids);
+
     public List<PostDto> getUserPostById(String id);
 
     public List<PostDto> getPostsByApplicantUserId(String userId);
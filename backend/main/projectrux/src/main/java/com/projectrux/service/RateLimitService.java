@@ -0,0 +1,16 @@
+package com.projectrux.service;
+
+import com.projectrux.security.RateLimitProperties;
+
+import java.util.Map;
+
+public interface RateLimitService {
+
+    /**
+     * Takes one token from every given bucket, or none if any of them is empty.
+     *
+     * @return 0 when allowed, otherwise the number of milliseconds until a retry can succeed
+     */
+    public long tryConsume(Map<String, RateLimitProperties.Limit> buckets);
+
+}
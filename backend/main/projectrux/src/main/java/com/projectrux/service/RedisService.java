@@ -2,6 +2,10 @@ package com.projectrux.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
 public interface RedisService {
 
     public <T> T get(String key, Class<T> type, Long ttlSeconds);
@@ -12,4 +16,10 @@ public interface RedisService {
 
     public void delete(String key);
 
+    public <T> List<T> multiGet(List<String> keys, Class<T> type);
+
+    public void multiSet(Map<String, ?> values, LongSupplier ttlSeconds);
+
+    public void multiSetIfAbsent(Map<String, ?> values, LongSupplier ttlSeconds);
+
 }
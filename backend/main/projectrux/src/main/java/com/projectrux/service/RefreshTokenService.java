@@ -0,0 +1,15 @@
+package com.projectrux.service;
+
+import java.util.Map;
+
+public interface RefreshTokenService {
+
+    public String issue(Map<String, String> tokenData);
+
+    public Map<String, String> rotate(String refreshToken);
+
+    public void revoke(String refreshToken);
+
+    public void revokeAll(String userId);
+
+}
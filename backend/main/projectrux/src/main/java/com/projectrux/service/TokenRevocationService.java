@@ -0,0 +1,11 @@
+package com.projectrux.service;
+
+import java.util.Date;
+
+public interface TokenRevocationService {
+
+    public void revoke(String tokenId, Date expiresAt);
+
+    public boolean isRevoked(String tokenId);
+
+}
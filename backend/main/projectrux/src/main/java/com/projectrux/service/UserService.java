@@ -20,6 +20,8 @@ public interface UserService {
 
     public Map<String, String> login(UserDto authUserDto);
 
+    public Map<String, String> refresh(String refreshToken);
+
     public Map<String, String> forgotPassword(UserDto userDto);
 
     public Map<String, String> resetPassword(String token, UserDto userDto);
@@ -0,0 +1,123 @@
+package com.projectrux.service.impl;
+
+import com.projectrux.entity.User;
+import com.projectrux.repository.UserRepository;
+import com.projectrux.service.AvailabilityService;
+import com.projectrux.util.BloomFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Answers "is this username/email taken" from in-memory Bloom filters of every username and email. A negative
+ * from the filter is definitive, so most checks while typing never reach Mongo; a possible hit is confirmed
+ * with an indexed exists query.
+ * <p>
+ * The filters are built by streaming the user collection at startup and every
+ * {@code user.availability.rebuildIntervalMs}, which also picks up signups handled by other instances.
+ * Until then such a name may be reported as available; signup itself is still guarded by the unique indexes.
+ */
+@Slf4j
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${user.availability.expectedUsers:100000}")
+    private long expectedUsers;
+
+    @Value("${user.availability.falsePositiveRate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile Filters filters;
+
+    // Set while a rebuild is streaming, so signups during the rebuild land in the new filters too
+    private volatile Filters building;
+
+    @Override
+    public boolean isUsernameAvailable(String username) {
+        return isAvailable("username", username, filters == null ? null : filters.usernames, userRepository::existsByUsername);
+    }
+
+    @Override
+    public boolean isEmailAvailable(String email) {
+        return isAvailable("email", email, filters == null ? null : filters.emails, userRepository::existsByEmail);
+    }
+
+    @Override
+    public void register(String username, String email) {
+        Filters current = filters;
+        if (current != null) {
+            current.put(username, email);
+        }
+        Filters next = building;
+        if (next != null) {
+            next.put(username, email);
+        }
+    }
+
+    private boolean isAvailable(String field, String value, BloomFilter filter, Predicate<String> existsInDb) {
+        if (filter != null && !filter.mightContain(value)) {
+            meterRegistry.counter("user.availability.checks", "field", field, "result", "filter").increment();
+            return true;
+        }
+        boolean taken = existsInDb.test(value);
+        meterRegistry.counter("user.availability.checks", "field", field,
+                "result", filter == null ? "db" : taken ? "taken" : "false-positive").increment();
+        return !taken;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${user.availability.rebuildIntervalMs:3600000}",
+            fixedDelayString = "${user.availability.rebuildIntervalMs:3600000}")
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        long expected = Math.max(expectedUsers, mongoTemplate.estimatedCount(User.class) * 2);
+        Filters rebuilt = new Filters(BloomFilter.create(expected, falsePositiveRate), BloomFilter.create(expected, falsePositiveRate));
+        building = rebuilt;
+
+        Query query = new Query();
+        query.fields().include("username", "email");
+        long count = 0;
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            for (User user : (Iterable<User>) users::iterator) {
+                rebuilt.put(user.getUsername(), user.getEmail());
+                count++;
+            }
+        } catch (Exception e) {
+            log.error("Error rebuilding username/email filters, keeping the current ones", e);
+            building = null;
+            return;
+        }
+
+        // Publish before clearing building, so a concurrent register always reaches the filters in use
+        filters = rebuilt;
+        building = null;
+        log.info("Built username/email filters from {} users in {} ms", count, System.currentTimeMillis() - started);
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+
+        void put(String username, String email) {
+            if (username != null) usernames.put(username);
+            if (email != null) emails.put(email);
+        }
+    }
+}
@@ -1,26 +1,57 @@
 package com.projectrux.service.impl;
 
+import com.projectrux.entity.MailOutbox;
+import com.projectrux.enums.MailStatus;
+import com.projectrux.mail.MailTemplateEngine;
+import com.projectrux.repository.MailOutboxRepository;
 import com.projectrux.service.MailService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Mails are only queued here; {@link com.projectrux.scheduler.MailOutboxWorker} sends them, so the
+ * calling request pays for a single insert instead of the SMTP round trips.
+ */
 @Service
 public class MailServiceImpl implements MailService {
 
     @Autowired
-    private JavaMailSender javaMailSender;
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MailTemplateEngine mailTemplateEngine;
 
     public void sendMail(String to, String subject, String otp){
-        try{
-            SimpleMailMessage mail = new SimpleMailMessage();
-            mail.setTo(to);
-            mail.setSubject(subject);
-            mail.setText(otp);
-            javaMailSender.send(mail);
-        } catch (Exception e){
-            System.err.println("Exception while sendEmail " + e);
+        MailOutbox mail = new MailOutbox();
+        mail.setTo(to);
+        mail.setSubject(subject);
+        mail.setBody(otp);
+        enqueue(mail);
+    }
+
+    // Only the template name and model are stored; the HTML is rendered by the outbox worker
+    @Override
+    public void sendTemplate(String to, String subject, String template, Map<String, String> model) {
+        if (!mailTemplateEngine.hasTemplate(template)) {
+            throw new IllegalArgumentException("Unknown mail template: " + template);
         }
+
+        MailOutbox mail = new MailOutbox();
+        mail.setTo(to);
+        mail.setSubject(subject);
+        mail.setTemplate(template);
+        mail.setModel(model);
+        enqueue(mail);
+    }
+
+    private void enqueue(MailOutbox mail) {
+        LocalDateTime now = LocalDateTime.now();
+        mail.setStatus(MailStatus.PENDING);
+        mail.setNextAttemptAt(now);
+        mail.setCreatedAt(now);
+        mailOutboxRepository.insert(mail);
     }
 }
@@ -0,0 +1,61 @@
+package com.projectrux.service.impl;
+
+import com.projectrux.enums.OtpVerification;
+import com.projectrux.service.OtpService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * OTPs are kept in Redis as {@code otp:<userId>} hashes ({@code code}, {@code attempts}) and expire natively.
+ * Verification runs as one script, so a code is consumed exactly once and a wrong guess can't race a correct one.
+ */
+@Service
+public class OtpServiceImpl implements OtpService {
+
+    private static final String KEY_PREFIX = "otp:";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Value("${otp.maxAttempts:5}")
+    private int maxAttempts;
+
+    private final DefaultRedisScript<Long> issueScript = loadScript("scripts/otp-issue.lua", Long.class);
+
+    private final DefaultRedisScript<String> verifyScript = loadScript("scripts/otp-verify.lua", String.class);
+
+    @Override
+    public String issue(String userId, Duration ttl) {
+        String code = String.valueOf(RANDOM.nextInt(900000) + 100000); // 6-digit random
+        stringRedisTemplate.execute(issueScript, List.of(KEY_PREFIX + userId), code, Long.toString(ttl.toSeconds()));
+        return code;
+    }
+
+    @Override
+    public OtpVerification verify(String userId, String code) {
+        if (code == null) {
+            return OtpVerification.WRONG;
+        }
+        String result = stringRedisTemplate.execute(verifyScript, List.of(KEY_PREFIX + userId),
+                code.trim(), Integer.toString(maxAttempts));
+        return result == null ? OtpVerification.MISSING : OtpVerification.valueOf(result.toUpperCase(Locale.ROOT));
+    }
+
+    private static <T> DefaultRedisScript<T> loadScript(String location, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(location));
+        script.setResultType(resultType);
+        return script;
+    }
+}
@@ -2,6 +2,7 @@ package com.projectrux.service.impl;
 
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.projectrux.cache.CacheRegion;
 import com.projectrux.entity.*;
 import com.projectrux.enums.ApplicantStatus;
 import com.projectrux.enums.PostStatus;
@@ -21,13 +22,16 @@ import com.projectrux.service.RedisService;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.parameters.P;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -50,6 +54,16 @@ public class PostServiceImpl implements PostService {
     @Autowired
     private RedisService redisService;
 
+    // Every mutation below writes the fresh PostDto back (or evicts it), so entries can live long.
+    @Autowired
+    @Qualifier("postCache")
+    private CacheRegion postCache;
+
+    // A creator's post list; evicted whenever one of their posts is created, changed or deleted.
+    @Autowired
+    @Qualifier("userPostsCache")
+    private CacheRegion userPostsCache;
+
     @Autowired
     MailService mailService;
 
@@ -75,7 +89,7 @@ public class PostServiceImpl implements PostService {
         platformStats.setActiveProjects(platformStats.getActiveProjects() + 1);
         platformStatsRepository.save(platformStats);
 
-        return mapper.map(save, PostDto.class);
+        return cachePost(save);
     }
 
     @Override
@@ -91,30 +105,57 @@ public class PostServiceImpl implements PostService {
         post.setUpdatedAt(LocalDateTime.now());
 
         Post savedPost = postRepository.save(post);
-        return mapper.map(savedPost, PostDto.class);
+        return cachePost(savedPost);
     }
 
     @Override
     public PostDto getPostById(String id) {
-        PostDto cachedPostDto = redisService.get(id, PostDto.class, 900L);
-        if(cachedPostDto != null){
-            return cachedPostDto;
+        return postCache.getOrLoad(id, PostDto.class, () -> {
+            Post post = postRepository.findById(id).
+                    orElseThrow(() -> new ResourceNotFoundException("Post Does not exist with id : " + id));
+            return mapper.map(post, PostDto.class);
+        });
+    }
+
+    // MGET for the whole batch, one findAllById for the misses, pipelined SET EX to back-fill.
+    // Unknown ids are skipped; the result keeps the order of the requested ids.
+    @Override
+    public List<PostDto> getPostsByIds(List<String> ids) {
+        List<String> uniqueIds = ids.stream().distinct().toList();
+        List<PostDto> cachedPosts = postCache.getAll(uniqueIds, PostDto.class);
+
+        Map<String, PostDto> postsById = new HashMap<>();
+        List<String> missingIds = new ArrayList<>();
+        for (int i = 0; i < uniqueIds.size(); i++) {
+            PostDto cachedPost = cachedPosts.get(i);
+            if (cachedPost != null) {
+                postsById.put(uniqueIds.get(i), cachedPost);
+            } else {
+                missingIds.add(uniqueIds.get(i));
+            }
         }
 
-        Post post = postRepository.findById(id).
-                orElseThrow(() -> new ResourceNotFoundException("Post Does not exist with id : " + id));
-        PostDto postDto = mapper.map(post, PostDto.class);
-        redisService.set(id, postDto, 900L);
+        if (!missingIds.isEmpty()) {
+            Map<String, PostDto> loadedPosts = new HashMap<>();
+            for (Post post : postRepository.findAllById(missingIds)) {
+                loadedPosts.put(post.getId(), mapper.map(post, PostDto.class));
+            }
+            postCache.putAll(loadedPosts);
+            postsById.putAll(loadedPosts);
+        }
 
-        return postDto;
+        return ids.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Override
     public List<PostDto> getUserPostById(String id) {
-//        List<PostDto> cachedPostsDto = redisService.get("getUserPostById/" + id, new TypeReference<List<PostDto>>() {}, 900L);
-//        if (cachedPostsDto != null) {
-//            return cachedPostsDto;
-//        }
+        List<PostDto> cachedPostsDto = userPostsCache.get(id, new TypeReference<List<PostDto>>() {});
+        if (cachedPostsDto != null) {
+            return cachedPostsDto;
+        }
 
         List<Post> allUserPost = postRepository.findByCreatedBy(id);
 //                orElseThrow(() -> new ResourceNotFoundException("Post Does not exist with id : " + id));
@@ -122,7 +163,7 @@ public class PostServiceImpl implements PostService {
                 .map(post -> mapper.map(post, PostDto.class))
                 .toList();
 
-//        redisService.set("getUserPostById/" + id, allUserPostDto, 900L);
+        userPostsCache.put(id, allUserPostDto);
         return allUserPostDto;
     }
 
@@ -168,10 +209,8 @@ public class PostServiceImpl implements PostService {
     public void deletePost(String id) {
         Post post = postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Post Does not exist with id : " + id));
         postRepository.deleteById(id);
-
-        String userId = post.getCreatedBy();
-        String cacheKey = "getUserPostById/" + userId;
-        redisService.delete(cacheKey);
+        postCache.evict(id);
+        userPostsCache.evict(post.getCreatedBy());
     }
 
     @Override
@@ -193,7 +232,7 @@ public class PostServiceImpl implements PostService {
         post.setUpdatedAt(LocalDateTime.now());
 
         Post updatedPost = postRepository.save(post);
-        return mapper.map(updatedPost, PostDto.class);
+        return cachePost(updatedPost);
     }
 
     @Override
@@ -205,7 +244,7 @@ public class PostServiceImpl implements PostService {
         post.setUpdatedAt(LocalDateTime.now());
 
         Post updatedPost = postRepository.save(post);
-        return mapper.map(updatedPost, PostDto.class);
+        return cachePost(updatedPost);
     }
 
     @Override
@@ -240,7 +279,7 @@ public class PostServiceImpl implements PostService {
         Post updatedPost = postRepository.save(post);
         userRepository.save(user);
 
-        return mapper.map(updatedPost, PostDto.class);
+        return cachePost(updatedPost);
     }
 
     @Override
@@ -258,7 +297,7 @@ public class PostServiceImpl implements PostService {
         post.setUpdatedAt(LocalDateTime.now());
         Post updatedPost = postRepository.save(post);
 
-        return mapper.map(updatedPost, PostDto.class);
+        return cachePost(updatedPost);
     }
 
     @Override
@@ -271,7 +310,12 @@ public class PostServiceImpl implements PostService {
         boolean updated = false;
         for (Applicant applicant : post.getApplicants()) {
             if (applicant.getUserId().equals(applicantId)) {
-                mailService.sendMail(applicantStatus.getMailDto().getReceiverMail(), applicantStatus.getMailDto().getSubject(), applicantStatus.getMailDto().getBody());
+                MailDto mail = applicantStatus.getMailDto();
+                mailService.sendTemplate(mail.getReceiverMail(), mail.getSubject(), "applicant-status", Map.of(
+                        "username", user.getUsername() == null ? "" : user.getUsername(),
+                        "postTitle", post.getTitle() == null ? "" : post.getTitle(),
+                        "status", applicantStatus.getApplicantStatus().getStatus().name(),
+                        "message", mail.getBody() == null ? "" : mail.getBody()));
                 applicant.setStatus(applicantStatus.getApplicantStatus().getStatus());
                 if(applicantStatus.getApplicantStatus().getStatus() == ApplicantStatus.ACCEPTED){
                     user.setProjectsInvolved(user.getProjectsInvolved() == null ? 1 : user.getProjectsInvolved() + 1);
@@ -289,6 +333,7 @@ public class PostServiceImpl implements PostService {
         }
         Post saved = postRepository.save(post);
         userRepository.save(user);
+        cachePost(saved);
         return Map.of("Post Updated Successfully", applicantStatus.getApplicantStatus());
     }
 
@@ -321,7 +366,8 @@ public class PostServiceImpl implements PostService {
             }
             platformStatsRepository.save(platformStats);
             post.setStatus(postStatus);
-            postRepository.save(post);
+            Post saved = postRepository.save(post);
+            cachePost(saved);
             return Map.of("Status updated successfully", postStatus);
         }
 
@@ -330,7 +376,15 @@ public class PostServiceImpl implements PostService {
 
         post.setStatus(postStatus);
         Post saved = postRepository.save(post);
+        cachePost(saved);
 
         return Map.of("Status updated successfully", postStatus);
     }
+
+    private PostDto cachePost(Post post) {
+        PostDto postDto = mapper.map(post, PostDto.class);
+        postCache.put(post.getId(), postDto);
+        userPostsCache.evict(post.getCreatedBy());
+        return postDto;
+    }
 }
@@ -0,0 +1,114 @@
+package com.projectrux.service.impl;
+
+import com.projectrux.security.RateLimitProperties;
+import com.projectrux.service.RateLimitService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets live in Redis ({@code rate-limit:<bucket>}) and are checked and charged atomically by
+ * {@code scripts/token-bucket.lua}, so every instance shares the same limits.
+ * <p>
+ * Once Redis rejects a bucket, the instance remembers it until the retry-after time and rejects further
+ * requests for it locally; a client hammering a blocked endpoint costs no Redis round trips.
+ * If Redis is unavailable the request is let through rather than locking everyone out of login.
+ */
+@Slf4j
+@Service
+public class RateLimitServiceImpl implements RateLimitService {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.rate-limit.localBlockedMaxSize:10000}")
+    private int localBlockedMaxSize;
+
+    private final RedisScript<List> script = loadScript();
+
+    // bucket -> epoch millis until which it is known to be empty
+    private final Map<String, Long> blockedUntil = new ConcurrentHashMap<>();
+
+    @Override
+    public long tryConsume(Map<String, RateLimitProperties.Limit> buckets) {
+        if (buckets.isEmpty()) {
+            return 0;
+        }
+
+        long now = System.currentTimeMillis();
+        long localRetry = 0;
+        for (String bucket : buckets.keySet()) {
+            Long until = blockedUntil.get(bucket);
+            if (until != null) {
+                if (until > now) {
+                    localRetry = Math.max(localRetry, until - now);
+                } else {
+                    blockedUntil.remove(bucket, until);
+                }
+            }
+        }
+        if (localRetry > 0) {
+            meterRegistry.counter("auth.rate-limit", "result", "rejected-local").increment();
+            return localRetry;
+        }
+
+        List<String> names = new ArrayList<>(buckets.keySet());
+        List<String> keys = new ArrayList<>(names.size());
+        List<String> args = new ArrayList<>(names.size() * 2);
+        names.forEach(bucket -> {
+            RateLimitProperties.Limit limit = buckets.get(bucket);
+            keys.add(KEY_PREFIX + bucket);
+            args.add(Integer.toString(limit.getCapacity()));
+            args.add(Double.toString(limit.getRefillPerMinute() / 60_000.0));
+        });
+
+        List<?> result;
+        try {
+            result = stringRedisTemplate.execute(script, keys, args.toArray());
+        } catch (Exception e) {
+            log.error("Rate limit check failed for {}, allowing request", buckets.keySet(), e);
+            meterRegistry.counter("auth.rate-limit", "result", "error").increment();
+            return 0;
+        }
+
+        long retryAfter = result == null || result.size() < 3 ? 0 : ((Number) result.get(1)).longValue();
+        if (retryAfter <= 0) {
+            meterRegistry.counter("auth.rate-limit", "result", "allowed").increment();
+            return 0;
+        }
+
+        if (blockedUntil.size() >= localBlockedMaxSize) {
+            blockedUntil.values().removeIf(until -> until <= now);
+        }
+        int empty = ((Number) result.get(2)).intValue();
+        if (empty > 0 && blockedUntil.size() < localBlockedMaxSize) {
+            // Only the empty bucket is blocked: a limited account must not block its whole IP
+            blockedUntil.merge(names.get(empty - 1), now + retryAfter, Math::max);
+        }
+        meterRegistry.counter("auth.rate-limit", "result", "rejected").increment();
+        return retryAfter;
+    }
+
+    private static RedisScript<List> loadScript() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/token-bucket.lua"));
+        script.setResultType(List.class);
+        return script;
+    }
+}
@@ -1,70 +1,242 @@
 package com.projectrux.service.impl;
 
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectrux.cache.RedisCircuitBreaker;
+import com.projectrux.cache.TrackingCache;
 import com.projectrux.service.RedisService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 public class RedisServiceImpl implements RedisService {
 
+    private static final int REPLAY_BATCH_SIZE = 500;
+
+    // Values are stored as JSON text (strings as they are), the same bytes the tracking connection reads
     @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
+    @Qualifier("cacheRedisTemplate")
+    private RedisTemplate<String, String> redisTemplate;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private RedisCircuitBreaker circuitBreaker;
+
+    // Only defined when cache.client-side.enabled is set
+    @Autowired
+    private ObjectProvider<TrackingCache> trackingCacheProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cache.invalidation.max-pending:100000}")
+    private int maxPendingInvalidations;
+
+    private TrackingCache trackingCache;
+
+    // Keys whose write-through or delete didn't reach Redis; each one may still hold an outdated value
+    private final Set<String> pendingInvalidations = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        trackingCache = trackingCacheProvider.getIfAvailable();
+        Gauge.builder("cache.redis.invalidations.pending", pendingInvalidations, Set::size).register(meterRegistry);
+    }
+
     @Override
     public void set(String key, Object value, Long ttlSeconds) {
-        try {
-            redisTemplate.opsForValue().set(key, value, ttlSeconds, TimeUnit.SECONDS);
-        } catch (Exception e) {
-            log.error("Error setting cache for key {}", key, e);
+        String json = serialize(key, value);
+        if (json == null) {
+            delete(key);
+            return;
         }
+
+        Boolean written = execute("set", key, () -> {
+            redisTemplate.opsForValue().set(key, json, ttlSeconds, TimeUnit.SECONDS);
+            return Boolean.TRUE;
+        });
+        if (written == null) invalidateLater(key);
     }
 
     @Override
     public void delete(String key) {
-        redisTemplate.delete(key);
+        if (execute("delete", key, () -> redisTemplate.delete(key)) == null) invalidateLater(key);
+    }
+
+    // Unlike reads, a skipped write or delete can't be ignored: the key may keep its old value for the whole
+    // region TTL. It is deleted once Redis is reachable again; a delete is safe even if a newer value was
+    // written in the meantime, the next read just reloads it.
+    private void invalidateLater(String key) {
+        if (pendingInvalidations.size() >= maxPendingInvalidations) {
+            log.error("Dropping cache invalidation for {}: {} invalidations already pending", key, pendingInvalidations.size());
+            return;
+        }
+        pendingInvalidations.add(key);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.replay-interval-ms:1000}")
+    public void replayInvalidations() {
+        if (pendingInvalidations.isEmpty()) return;
+
+        List<String> keys = List.copyOf(pendingInvalidations);
+        for (int from = 0; from < keys.size(); from += REPLAY_BATCH_SIZE) {
+            List<String> batch = keys.subList(from, Math.min(from + REPLAY_BATCH_SIZE, keys.size()));
+            // Removed before the DEL, so a key that fails again meanwhile is re-added rather than lost
+            batch.forEach(pendingInvalidations::remove);
+            if (execute("replayInvalidations", batch.size() + " keys", () -> redisTemplate.delete(batch)) == null) {
+                pendingInvalidations.addAll(batch);
+                return;
+            }
+        }
+        log.info("Replayed {} cache invalidations", keys.size());
     }
 
     @Override
     public <T> T get(String key, Class<T> type, Long ttlSeconds) {
-        try {
-            Object value = redisTemplate.opsForValue().get(key);
-            if (value == null) return null;
+        return get(key, objectMapper.constructType(type), ttlSeconds);
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeRef, Long ttlSeconds) {
+        return get(key, objectMapper.constructType(typeRef), ttlSeconds);
+    }
 
-            if (ttlSeconds != null) {
+    private <T> T get(String key, JavaType type, Long ttlSeconds) {
+        boolean tracked = trackingCache != null && trackingCache.isAvailable();
+        String value = execute("get", key, () -> {
+            String cached = tracked ? trackingCache.get(key) : redisTemplate.opsForValue().get(key);
+            if (cached != null && ttlSeconds != null) {
                 redisTemplate.expire(key, ttlSeconds, TimeUnit.SECONDS);
             }
+            return cached;
+        });
+        return deserialize(key, value, type);
+    }
 
-            return objectMapper.convertValue(value, type);
-        } catch (Exception e) {
-            log.error("Error getting cache for key {}", key, e);
-            return null;
+    /**
+     * Resolves all keys with a single MGET. The returned list is aligned with {@code keys};
+     * misses (and every key, if Redis is unavailable) come back as {@code null}.
+     */
+    @Override
+    public <T> List<T> multiGet(List<String> keys, Class<T> type) {
+        List<T> result = new ArrayList<>(Collections.nCopies(keys.size(), null));
+        if (keys.isEmpty()) return result;
+
+        List<String> values = execute("multiGet", keys, () -> redisTemplate.opsForValue().multiGet(keys));
+        if (values == null) return result;
+
+        JavaType javaType = objectMapper.constructType(type);
+        for (int i = 0; i < values.size(); i++) {
+            result.set(i, deserialize(keys.get(i), values.get(i), javaType));
         }
+        return result;
     }
 
+    /**
+     * Writes all entries as {@code SET key value EX ttl} in one pipelined round trip.
+     * {@code ttlSeconds} is asked once per entry, so callers can spread expiry times.
+     */
     @Override
-    public <T> T get(String key, TypeReference<T> typeRef, Long ttlSeconds) {
-        try {
-            Object value = redisTemplate.opsForValue().get(key);
-            if (value == null) return null;
+    public void multiSet(Map<String, ?> values, LongSupplier ttlSeconds) {
+        pipelinedSet("multiSet", values, ttlSeconds, false);
+    }
 
-            if (ttlSeconds != null) {
-                redisTemplate.expire(key, ttlSeconds, TimeUnit.SECONDS);
+    /**
+     * Like {@link #multiSet}, but as {@code SET key value EX ttl NX}: keys that already exist are left alone.
+     */
+    @Override
+    public void multiSetIfAbsent(Map<String, ?> values, LongSupplier ttlSeconds) {
+        pipelinedSet("multiSetIfAbsent", values, ttlSeconds, true);
+    }
+
+    private void pipelinedSet(String command, Map<String, ?> values, LongSupplier ttlSeconds, boolean ifAbsent) {
+        Map<String, String> entries = new HashMap<>();
+        values.forEach((key, value) -> {
+            String json = serialize(key, value);
+            if (json != null) entries.put(key, json);
+        });
+        if (entries.isEmpty()) return;
+
+        execute(command, entries.keySet(), () -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                entries.forEach((key, json) -> {
+                    if (ifAbsent) {
+                        ops.opsForValue().setIfAbsent(key, json, ttlSeconds.getAsLong(), TimeUnit.SECONDS);
+                    } else {
+                        ops.opsForValue().set(key, json, ttlSeconds.getAsLong(), TimeUnit.SECONDS);
+                    }
+                });
+                return null;
             }
+        }));
+    }
+
+    // Strings (e.g. CacheRegion's pre-serialized JSON) are stored verbatim, anything else as JSON.
+    private String serialize(String key, Object value) {
+        if (value instanceof String json) return json;
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing cache value for key {}", key, e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T deserialize(String key, String value, JavaType type) {
+        if (value == null) return null;
+        if (type.getRawClass() == String.class) return (T) value;
+        try {
+            return objectMapper.readValue(value, type);
+        } catch (Exception e) {
+            log.error("Error reading cache value for key {}", key, e);
+            return null;
+        }
+    }
+
+    // Every command goes through the circuit breaker: while it is open the cache is skipped entirely and
+    // callers fall back to Mongo instead of waiting out the command timeout.
+    private <T> T execute(String command, Object keys, Supplier<T> redisCall) {
+        if (!circuitBreaker.tryAcquire()) return null;
 
-            return objectMapper.convertValue(value, typeRef);
+        try {
+            T result = redisCall.get();
+            circuitBreaker.onSuccess();
+            return result;
         } catch (Exception e) {
-            log.error("Error getting cache for key {}", key, e);
+            circuitBreaker.onFailure();
+            log.error("Error running cache {} for {}", command, keys, e);
             return null;
         }
     }
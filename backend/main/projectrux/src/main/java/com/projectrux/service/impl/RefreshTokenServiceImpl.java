@@ -0,0 +1,141 @@
+package com.projectrux.service.impl;
+
+import com.projectrux.service.RefreshTokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Opaque refresh tokens of the form {@code <familyId>.<secret>}. Only a SHA-256 of the token is stored,
+ * as {@code refresh-token:<hash>} holding the user's id, username and email. Every token issued from the
+ * same login shares a family ({@code refresh-family:<familyId>}); deleting the family invalidates all of them.
+ * A user's families are indexed in {@code refresh-user:<userId>} so they can all be revoked at once.
+ * <p>
+ * Each refresh swaps the presented token for a new one. Presenting an already swapped token means it was
+ * copied, so the family is revoked and the user has to log in again.
+ */
+@Slf4j
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final String TOKEN_PREFIX = "refresh-token:";
+
+    private static final String FAMILY_PREFIX = "refresh-family:";
+
+    private static final String USER_PREFIX = "refresh-user:";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Value("${jwt.refreshTokenTtlSeconds:2592000}")
+    private long refreshTokenTtlSeconds;
+
+    private final DefaultRedisScript<Long> issueScript = loadScript("scripts/refresh-issue.lua", Long.class);
+
+    private final DefaultRedisScript<List> rotateScript = loadScript("scripts/refresh-rotate.lua", List.class);
+
+    private final DefaultRedisScript<Long> revokeUserScript = loadScript("scripts/refresh-revoke-user.lua", Long.class);
+
+    @Override
+    public String issue(Map<String, String> tokenData) {
+        String familyId = UUID.randomUUID().toString();
+        String token = newToken(familyId);
+
+        // One script, so a token is never left behind without its TTL
+        stringRedisTemplate.execute(issueScript,
+                List.of(TOKEN_PREFIX + hash(token), FAMILY_PREFIX + familyId, USER_PREFIX + tokenData.get("id")),
+                Long.toString(refreshTokenTtlSeconds), familyId,
+                tokenData.get("id"), tokenData.get("username"), tokenData.get("email"));
+        return token;
+    }
+
+    /**
+     * @return the token data ({@code id}, {@code username}, {@code email}) plus the replacement
+     * {@code refreshToken}, or {@code null} when the token is unknown, expired, revoked or reused
+     */
+    @Override
+    public Map<String, String> rotate(String refreshToken) {
+        String familyId = familyOf(refreshToken);
+        if (familyId == null) {
+            return null;
+        }
+
+        String next = newToken(familyId);
+        List<?> result = stringRedisTemplate.execute(rotateScript,
+                List.of(TOKEN_PREFIX + hash(refreshToken), TOKEN_PREFIX + hash(next), FAMILY_PREFIX + familyId),
+                Long.toString(refreshTokenTtlSeconds), USER_PREFIX);
+
+        if (result == null || result.isEmpty() || !"ok".equals(result.get(0))) {
+            if (result != null && !result.isEmpty() && "reused".equals(result.get(0))) {
+                log.warn("Refresh token reuse detected, revoked token family {}", familyId);
+            }
+            return null;
+        }
+
+        return Map.of(
+                "id", (String) result.get(1),
+                "username", (String) result.get(2),
+                "email", (String) result.get(3),
+                "refreshToken", next);
+    }
+
+    @Override
+    public void revoke(String refreshToken) {
+        String familyId = familyOf(refreshToken);
+        if (familyId != null) {
+            stringRedisTemplate.delete(FAMILY_PREFIX + familyId);
+        }
+    }
+
+    @Override
+    public void revokeAll(String userId) {
+        Long revoked = stringRedisTemplate.execute(revokeUserScript, List.of(USER_PREFIX + userId), FAMILY_PREFIX);
+        log.info("Revoked {} refresh token families of user {}", revoked, userId);
+    }
+
+    private static String newToken(String familyId) {
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        return familyId + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+    }
+
+    private static String familyOf(String refreshToken) {
+        if (refreshToken == null) {
+            return null;
+        }
+        int separator = refreshToken.indexOf('.');
+        return separator > 0 ? refreshToken.substring(0, separator) : null;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> DefaultRedisScript<T> loadScript(String location, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(location));
+        script.setResultType(resultType);
+        return script;
+    }
+}
@@ -0,0 +1,115 @@
+package com.projectrux.service.impl;
+
+import com.projectrux.service.TokenRevocationService;
+import com.projectrux.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked token ids (jti) live in the Redis sorted set {@code revoked-tokens}, scored by the token's expiry
+ * time. Each instance mirrors them into an in-memory Bloom filter that is rebuilt from that set every
+ * {@code jwt.revocation.syncIntervalMs} (pruning expired ids first), so the check on every request is a local
+ * lookup and Redis is only asked when the filter reports a possible hit.
+ * <p>
+ * A token revoked on another instance is rejected here once the next sync has run.
+ */
+@Slf4j
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private static final String REVOKED_KEY = "revoked-tokens";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Value("${jwt.revocation.expectedRevocations:10000}")
+    private long expectedRevocations;
+
+    @Value("${jwt.revocation.falsePositiveRate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter revoked;
+
+    // Set while a sync is reading Redis, so local revocations during the read land in the new filter too
+    private volatile BloomFilter building;
+
+    @Override
+    public void revoke(String tokenId, Date expiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAtMillis = expiresAt == null ? now + TimeUnit.DAYS.toMillis(1) : expiresAt.getTime();
+        if (expiresAtMillis <= now) {
+            return;
+        }
+        stringRedisTemplate.opsForZSet().add(REVOKED_KEY, tokenId, expiresAtMillis);
+        filter().put(tokenId);
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(tokenId);
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter().mightContain(tokenId)) {
+            return false;
+        }
+        try {
+            Double expiresAt = stringRedisTemplate.opsForZSet().score(REVOKED_KEY, tokenId);
+            return expiresAt != null && expiresAt > System.currentTimeMillis();
+        } catch (Exception e) {
+            // Can't confirm a possible revocation: refuse the token rather than risk accepting a revoked one
+            log.error("Error checking revocation of token {}", tokenId, e);
+            return true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.syncIntervalMs:30000}")
+    public synchronized void syncFilter() {
+        long now = System.currentTimeMillis();
+        Set<String> tokenIds;
+        BloomFilter rebuilt;
+        try {
+            stringRedisTemplate.opsForZSet().removeRangeByScore(REVOKED_KEY, Double.NEGATIVE_INFINITY, now);
+            Long size = stringRedisTemplate.opsForZSet().size(REVOKED_KEY);
+            rebuilt = BloomFilter.create(Math.max(expectedRevocations, (size == null ? 0 : size) * 2L), falsePositiveRate);
+            building = rebuilt;
+            tokenIds = stringRedisTemplate.opsForZSet().rangeByScore(REVOKED_KEY, now, Double.POSITIVE_INFINITY);
+        } catch (Exception e) {
+            building = null;
+            log.error("Error syncing revoked tokens, keeping the current filter", e);
+            return;
+        }
+
+        if (tokenIds != null) {
+            tokenIds.forEach(rebuilt::put);
+        }
+        // Publish before clearing building, so a concurrent revoke always reaches the filter that stays live
+        revoked = rebuilt;
+        building = null;
+        log.debug("Synced {} revoked tokens", tokenIds == null ? 0 : tokenIds.size());
+    }
+
+    private BloomFilter filter() {
+        BloomFilter filter = revoked;
+        if (filter == null) {
+            synchronized (this) {
+                if (revoked == null) {
+                    revoked = BloomFilter.create(expectedRevocations, falsePositiveRate);
+                }
+                filter = revoked;
+            }
+        }
+        return filter;
+    }
+}
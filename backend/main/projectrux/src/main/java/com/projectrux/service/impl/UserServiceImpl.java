@@ -1,7 +1,6 @@
 package com.projectrux.service.impl;
 
 
-import com.projectrux.entity.Otp;
 import com.projectrux.entity.PasswordResetToken;
 import com.projectrux.entity.PlatformStats;
 import com.projectrux.entity.User;
@@ -12,19 +11,23 @@ import com.projectrux.exception.ResourceNotFoundException;
 import com.projectrux.model.OtoDto;
 import com.projectrux.model.UserDto;
 import com.projectrux.model.UserProfileDto;
-import com.projectrux.repository.OtpRepository;
 import com.projectrux.repository.PasswordResetTokenRepository;
 import com.projectrux.repository.PlatformStatsRepository;
 import com.projectrux.repository.UserRepository;
 import com.projectrux.security.JwtUtil;
+import com.projectrux.service.AvailabilityService;
 import com.projectrux.service.MailService;
+import com.projectrux.service.OtpService;
+import com.projectrux.service.PasswordHashingService;
+import com.projectrux.service.RefreshTokenService;
 import com.projectrux.service.UserService;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -34,11 +37,12 @@ import static io.lettuce.core.internal.LettuceClassUtils.isPresent;
 @Service
 public class UserServiceImpl implements UserService {
 
-    @Autowired
-    UserRepository userRepository;
+    private static final int OTP_EXPIRY_MINUTES = 5;
+
+    private static final int RESET_TOKEN_EXPIRY_MINUTES = 5;
 
     @Autowired
-    OtpRepository otpRepository;
+    UserRepository userRepository;
 
     @Autowired
     PlatformStatsRepository platformStatsRepository;
@@ -50,7 +54,16 @@ public class UserServiceImpl implements UserService {
     ModelMapper modelMapper;
 
     @Autowired
-    BCryptPasswordEncoder passwordEncoder;
+    PasswordHashingService passwordHashingService;
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    OtpService otpService;
+
+    @Autowired
+    AvailabilityService availabilityService;
 
     @Autowired
     JwtUtil jwtUtil;
@@ -61,6 +74,15 @@ public class UserServiceImpl implements UserService {
     @Value("${frontend.url}")
     String frontendUrl;
 
+    // Duplicate key errors name the violated index ("index: email dup key ..."), which tells the two conflicts apart
+    private ResourceAlreadyExists alreadyExists(DuplicateKeyException e, UserDto userDto) {
+        String message = String.valueOf(e.getMessage());
+        if (message.contains("index: email")) {
+            return new ResourceAlreadyExists("Email: '" + userDto.getEmail() + "' Already Exists");
+        }
+        return new ResourceAlreadyExists("Username: '" + userDto.getUsername() + "' Already Exists");
+    }
+
     private User findUser(String id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User does not exist with id: " + id));
@@ -68,23 +90,23 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Map<String, String> signup(UserDto userDto) {
-        Optional<User> byEmail = userRepository.findByEmail(userDto.getEmail());
+        // One $or lookup covers both conflicts; an email match takes precedence over a username match
+        List<User> existing = userRepository.findByEmailOrUsername(userDto.getEmail(), userDto.getUsername());
+        Optional<User> byEmail = existing.stream().filter(user -> Objects.equals(user.getEmail(), userDto.getEmail())).findFirst();
         if (byEmail.isPresent()) {
             User user = byEmail.get();
             if(user.getStatus() == UserStatus.ACTIVE){
                 throw new ResourceAlreadyExists("Email: '" + userDto.getEmail() + "' Already Exists");
             }
             else{
-                Otp otpEntity = generateOtp(user.getId());
-                otpRepository.save(otpEntity);
-                mailService.sendMail(user.getEmail(), "New Verification OTP - ProjectRuX", otpEntity.getOtpCode());
+                String otpCode = otpService.issue(user.getId(), Duration.ofMinutes(OTP_EXPIRY_MINUTES));
+                sendOtpMail(user, "New Verification OTP - ProjectRuX", otpCode);
                 return Map.of("error", "User Already exists");
             }
         }
 
-        Optional<User> byUsername = userRepository.findByUsername(userDto.getUsername());
-        if (byUsername.isPresent()){
-            User user = byUsername.get();
+        if (!existing.isEmpty()){
+            User user = existing.get(0);
             if(user.getStatus() == UserStatus.ACTIVE){
                 throw new ResourceAlreadyExists("Username: '" + userDto.getUsername() + "' Already Exists");
             }
@@ -93,18 +115,20 @@ public class UserServiceImpl implements UserService {
             }
         }
 
-        String encodedPassword = passwordEncoder.encode(userDto.getPassword());
+        String encodedPassword = passwordHashingService.encode(userDto.getPassword());
         User user = modelMapper.map(userDto, User.class);
         user.setPassword(encodedPassword);
         user.setStatus(UserStatus.PENDING);
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            // The unique indexes settle concurrent signups that both passed the lookup above
+            savedUser = userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            throw alreadyExists(e, userDto);
+        }
+        availabilityService.register(savedUser.getUsername(), savedUser.getEmail());
 
-        Otp otpEntity = generateOtp(savedUser.getId());
-//        Otp otpEntity = new Otp();
-//        otpEntity.setUserId(savedUser.getId());
-//        otpEntity.setOtpCode(generateOtp());
-//        otpEntity.setExpiryTime(LocalDateTime.now().plusMinutes(5));
-        otpRepository.save(otpEntity);
+        String otpCode = otpService.issue(savedUser.getId(), Duration.ofMinutes(OTP_EXPIRY_MINUTES));
 
         List<PlatformStats> all = platformStatsRepository.findAll();
         PlatformStats platformStats = null;
@@ -116,7 +140,7 @@ public class UserServiceImpl implements UserService {
         platformStats.setDevelopers(platformStats.getDevelopers() + 1);
         platformStatsRepository.save(platformStats);
 
-        mailService.sendMail(savedUser.getEmail(), "Verification OTP - ProjectRuX", otpEntity.getOtpCode());
+        sendOtpMail(savedUser, "Verification OTP - ProjectRuX", otpCode);
         return Map.of("success", "OTP has been sent to your Email");
     }
 
@@ -129,16 +153,11 @@ public class UserServiceImpl implements UserService {
         return Map.of("error", "Email id '" + userDto.getEmail() + "' doesn't exists");
     }
 
-    private Otp generateOtp(String userId) {
-        Otp otpEntity = otpRepository.findByUserId(userId);
-        if(otpEntity == null){
-            otpEntity = new Otp();
-        }
-        otpEntity.setUserId(userId);
-        int otp = (int)(Math.random() * 900000) + 100000; // 6-digit random
-        otpEntity.setOtpCode(String.valueOf(otp));
-        otpEntity.setExpiryTime(LocalDateTime.now().plusMinutes(5));
-        return otpEntity;
+    private void sendOtpMail(User user, String subject, String otpCode) {
+        mailService.sendTemplate(user.getEmail(), subject, "otp", Map.of(
+                "username", user.getUsername() == null ? "" : user.getUsername(),
+                "otp", otpCode,
+                "expiryMinutes", String.valueOf(OTP_EXPIRY_MINUTES)));
     }
 
     @Override
@@ -149,29 +168,21 @@ public class UserServiceImpl implements UserService {
             return Map.of("error", "Otp verification is already done");
         }
 
-        Otp otpEntity = otpRepository.findByUserId(userId);
-        if (otpEntity == null) {
-            return Map.of("error", "Otp not found or already used");
-        }
-
-        if (otpEntity.getExpiryTime().isBefore(LocalDateTime.now())) {
-            return Map.of("error", "Otp expired");
-        }
-
-        if (!otpEntity.getOtpCode().equals(otp.getOtpCode())) {
-            return Map.of("error", "Wrong Otp");
+        switch (otpService.verify(userId, otp.getOtpCode())) {
+            case MISSING:
+                return Map.of("error", "Otp expired or already used");
+            case LOCKED:
+                return Map.of("error", "Too many wrong attempts, please request a new Otp");
+            case WRONG:
+                return Map.of("error", "Wrong Otp");
+            default:
+                break;
         }
 
         user.setStatus(UserStatus.ACTIVE);
         userRepository.save(user);
-        otpRepository.delete(otpEntity);
 
-        Map<String, String> res = new HashMap<>();
-        res.put("id", user.getId());
-        res.put("username", user.getUsername());
-        res.put("email", user.getEmail());
-
-        return Map.of("token", jwtUtil.generateToken(res));
+        return issueTokens(user);
     }
 
     @Override
@@ -182,17 +193,9 @@ public class UserServiceImpl implements UserService {
             return Map.of("error", "Otp verification is already done");
         }
 
-//        Otp otpEntity = otpRepository.findByUserId(userId);
-//        if(otpEntity == null) {
-//            otpEntity = new Otp();
-//        }
-//        otpEntity.setUserId(userId);
-//        otpEntity.setOtpCode(generateOtp());
-//        otpEntity.setExpiryTime(LocalDateTime.now().plusMinutes(5));
-        Otp otpEntity = generateOtp(userId);
-        otpRepository.save(otpEntity);
-
-        mailService.sendMail(user.getEmail(), "New Verification OTP - ProjectRuX", otpEntity.getOtpCode());
+        String otpCode = otpService.issue(userId, Duration.ofMinutes(OTP_EXPIRY_MINUTES));
+
+        sendOtpMail(user, "New Verification OTP - ProjectRuX", otpCode);
         return Map.of("success", "New OTP has been sent to your Email");
     }
 
@@ -214,16 +217,33 @@ public class UserServiceImpl implements UserService {
             throw new ResourceNotFoundException("Account is not verified");
         }
 
-        if(!passwordEncoder.matches(userDto.getPassword(), user.getPassword())){
+        if(!passwordHashingService.matches(userDto.getPassword(), user.getPassword())){
             throw new ResourceNotFoundException("Incorrect Password");
         }
 
+        return issueTokens(user);
+    }
+
+    @Override
+    public Map<String, String> refresh(String refreshToken) {
+        Map<String, String> tokenData = refreshTokenService.rotate(refreshToken);
+        if (tokenData == null) {
+            return Map.of();
+        }
+        return Map.of(
+                "token", jwtUtil.generateToken(tokenData),
+                "refreshToken", tokenData.get("refreshToken"));
+    }
+
+    private Map<String, String> issueTokens(User user) {
         Map<String, String> res = new HashMap<>();
         res.put("id", user.getId());
         res.put("username", user.getUsername());
         res.put("email", user.getEmail());
 
-        return Map.of("token", jwtUtil.generateToken(res));
+        return Map.of(
+                "token", jwtUtil.generateToken(res),
+                "refreshToken", refreshTokenService.issue(res));
     }
 
     @Override
@@ -235,11 +255,14 @@ public class UserServiceImpl implements UserService {
         PasswordResetToken passwordResetToken = new PasswordResetToken();
         passwordResetToken.setUserId(user.getId());
         passwordResetToken.setResetToken(UUID.randomUUID().toString());
-        passwordResetToken.setExpiryTime(LocalDateTime.now().plusMinutes(5));
+        passwordResetToken.setExpiryTime(LocalDateTime.now().plusMinutes(RESET_TOKEN_EXPIRY_MINUTES));
         passwordResetTokenRepository.save(passwordResetToken);
 
         String url = frontendUrl + "/auth/reset-password?token=" + passwordResetToken.getResetToken();
-        mailService.sendMail(user.getEmail(), "Password Reset Link - ProjectRux", url);
+        mailService.sendTemplate(user.getEmail(), "Password Reset Link - ProjectRux", "reset-password", Map.of(
+                "username", user.getUsername() == null ? "" : user.getUsername(),
+                "resetUrl", url,
+                "expiryMinutes", String.valueOf(RESET_TOKEN_EXPIRY_MINUTES)));
         return Map.of("success", "Password Reset Link has been sent to your Email");
     }
 
@@ -261,14 +284,17 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found for this reset token"));
 
         // 4. Update password
-        String encodedPassword = passwordEncoder.encode(userDto.getPassword());
+        String encodedPassword = passwordHashingService.encode(userDto.getPassword());
         user.setPassword(encodedPassword);
         userRepository.save(user);
 
         // 5. Delete token after use
         passwordResetTokenRepository.delete(resetToken);
 
-        // 6. Return success
+        // 6. Sign out every session: refresh tokens issued with the old password must not outlive it
+        refreshTokenService.revokeAll(user.getId());
+
+        // 7. Return success
         return Map.of("success", "Password has been reset successfully");
     }
 
@@ -283,11 +309,25 @@ public class UserServiceImpl implements UserService {
         user.setBio(userDto.getBio());
         user.setCreatedAt(userDto.getCreatedAt());
 
-        String encodedPassword = passwordEncoder.encode(userDto.getPassword());
+        // Only hash when a new password was actually sent; profile edits keep the stored hash
+        boolean passwordChanged = userDto.getPassword() != null && !userDto.getPassword().isBlank();
+        if (passwordChanged) {
+            user.setPassword(passwordHashingService.encode(userDto.getPassword()));
+        }
 
-        user.setPassword(encodedPassword);
+        User updatedUser;
+        try {
+            updatedUser = userRepository.save(user);
+        } catch (DuplicateKeyException e) {
+            throw alreadyExists(e, userDto);
+        }
+        // A renamed username or email is taken from now on; the previous one stays in the filter until the next rebuild
+        availabilityService.register(updatedUser.getUsername(), updatedUser.getEmail());
 
-        User updatedUser = userRepository.save(user);
+        // As on reset: refresh tokens issued with the old password must not outlive it
+        if (passwordChanged) {
+            refreshTokenService.revokeAll(updatedUser.getId());
+        }
 
         return modelMapper.map(updatedUser, UserDto.class);
     }
@@ -0,0 +1,79 @@
+package com.projectrux.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ * <p>
+ * {@link #mightContain(String)} never returns {@code false} for a value that was {@link #put(String) put},
+ * and returns {@code true} for an absent value with roughly the false-positive probability the filter was
+ * sized for. Callers use it as a fast path and confirm positives against the source of truth.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final long numBits;
+
+    private final int numHashes;
+
+    private BloomFilter(long numBits, int numHashes) {
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+        this.bits = new AtomicLongArray((int) ((numBits + 63) / 64));
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long numBits = Math.max(64, (long) (-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+        return new BloomFilter(numBits, numHashes);
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % numBits;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 chars, finished with the MurmurHash3 fmix64 avalanche
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
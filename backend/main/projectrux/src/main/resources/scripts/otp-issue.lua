@@ -0,0 +1,7 @@
+-- Replaces any previous OTP for the user with a fresh code and attempt counter.
+-- KEYS[1] otp hash
+-- ARGV[1] code, ARGV[2] ttl in seconds
+redis.call('DEL', KEYS[1])
+redis.call('HSET', KEYS[1], 'code', ARGV[1], 'attempts', 0)
+redis.call('EXPIRE', KEYS[1], ARGV[2])
+return 1
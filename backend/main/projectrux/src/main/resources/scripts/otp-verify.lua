@@ -0,0 +1,20 @@
+-- Checks an OTP and consumes it on success, so a code can only be used once.
+-- KEYS[1] otp hash (code, attempts)
+-- ARGV[1] submitted code, ARGV[2] wrong attempts allowed before the code is discarded
+-- Returns 'valid', 'wrong', 'locked' or 'missing'
+local code = redis.call('HGET', KEYS[1], 'code')
+if not code then
+    return 'missing'
+end
+
+if code == ARGV[1] then
+    redis.call('DEL', KEYS[1])
+    return 'valid'
+end
+
+local attempts = redis.call('HINCRBY', KEYS[1], 'attempts', 1)
+if attempts >= tonumber(ARGV[2]) then
+    redis.call('DEL', KEYS[1])
+    return 'locked'
+end
+return 'wrong'
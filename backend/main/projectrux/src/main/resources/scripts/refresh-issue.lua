@@ -0,0 +1,9 @@
+-- Starts a new token family with its first refresh token, all with the same ttl.
+-- KEYS[1] token, KEYS[2] token family, KEYS[3] the user's family index
+-- ARGV[1] ttl in seconds, ARGV[2] family id, ARGV[3] userId, ARGV[4] username, ARGV[5] email
+redis.call('SET', KEYS[2], '1', 'EX', ARGV[1])
+redis.call('HSET', KEYS[1], 'userId', ARGV[3], 'username', ARGV[4], 'email', ARGV[5], 'used', '0')
+redis.call('EXPIRE', KEYS[1], ARGV[1])
+redis.call('SADD', KEYS[3], ARGV[2])
+redis.call('EXPIRE', KEYS[3], ARGV[1])
+return 1
@@ -0,0 +1,10 @@
+-- Revokes every token family of a user (e.g. after a password reset).
+-- KEYS[1] the user's family index
+-- ARGV[1] family key prefix
+-- Returns the number of families that were still live
+local revoked = 0
+for _, familyId in ipairs(redis.call('SMEMBERS', KEYS[1])) do
+    revoked = revoked + redis.call('DEL', ARGV[1] .. familyId)
+end
+redis.call('DEL', KEYS[1])
+return revoked
@@ -0,0 +1,28 @@
+-- Rotates a refresh token in one step.
+-- KEYS[1] presented token, KEYS[2] replacement token, KEYS[3] token family
+-- ARGV[1] token ttl in seconds, ARGV[2] user family index key prefix
+-- Returns {'ok', userId, username, email}, {'invalid'} or {'reused'}
+if redis.call('EXISTS', KEYS[3]) == 0 then
+    return {'invalid'}
+end
+
+local token = redis.call('HMGET', KEYS[1], 'userId', 'username', 'email', 'used')
+if not token[1] then
+    return {'invalid'}
+end
+
+-- A token that was already exchanged is being replayed: someone else holds a copy, so the whole
+-- family (including the legitimate client's current token) is revoked.
+if token[4] == '1' then
+    redis.call('DEL', KEYS[3])
+    return {'reused'}
+end
+
+-- The old token is kept, marked used, until it expires so a later replay is still detected
+redis.call('HSET', KEYS[1], 'used', '1')
+redis.call('HSET', KEYS[2], 'userId', token[1], 'username', token[2], 'email', token[3], 'used', '0')
+redis.call('EXPIRE', KEYS[2], ARGV[1])
+redis.call('EXPIRE', KEYS[3], ARGV[1])
+-- The family index key depends on the stored userId, so it can't be passed in KEYS up front
+redis.call('EXPIRE', ARGV[2] .. token[1], ARGV[1])
+return {'ok', token[1], token[2], token[3]}
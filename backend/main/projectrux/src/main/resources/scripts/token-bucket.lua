@@ -0,0 +1,38 @@
+-- Token buckets checked and consumed together: a request is only charged when every bucket has a token.
+-- KEYS[i]              bucket key
+-- ARGV[2i-1], ARGV[2i] capacity and refill rate (tokens per millisecond) of KEYS[i]
+-- Returns {allowed (1/0), retry-after in milliseconds, index of the bucket that is empty (0 when allowed)}
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local tokens = {}
+local retry_ms = 0
+local empty = 0
+for i, key in ipairs(KEYS) do
+    local capacity = tonumber(ARGV[2 * i - 1])
+    local rate = tonumber(ARGV[2 * i])
+    local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+    local available = tonumber(bucket[1]) or capacity
+    local last = tonumber(bucket[2]) or now
+    available = math.min(capacity, available + math.max(0, now - last) * rate)
+    tokens[i] = available
+    if available < 1 then
+        local wait = math.ceil((1 - available) / rate)
+        if wait > retry_ms then
+            retry_ms = wait
+            empty = i
+        end
+    end
+end
+
+if retry_ms > 0 then
+    return {0, retry_ms, empty}
+end
+
+for i, key in ipairs(KEYS) do
+    local capacity = tonumber(ARGV[2 * i - 1])
+    local rate = tonumber(ARGV[2 * i])
+    redis.call('HSET', key, 'tokens', tostring(tokens[i] - 1), 'ts', now)
+    redis.call('PEXPIRE', key, math.ceil(capacity / rate))
+end
+return {1, 0, 0}
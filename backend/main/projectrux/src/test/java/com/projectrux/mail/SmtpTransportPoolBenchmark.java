@@ -0,0 +1,108 @@
+package com.projectrux.mail;
+
+import com.icegreen.greenmail.store.FolderException;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mail throughput against an embedded GreenMail SMTP server: a batch sent over a pooled connection by
+ * {@link SmtpTransportPool}, against {@link JavaMailSenderImpl#send} per message, which opens and closes
+ * a connection for every mail. Scores are messages per second.
+ * <p>
+ * Run with {@code mvn -P jmh test-compile exec:exec -Djmh.benchmarks=SmtpTransportPoolBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SmtpTransportPoolBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+
+    private GreenMail greenMail;
+
+    private JavaMailSenderImpl mailSender;
+
+    private SmtpTransportPool pool;
+
+    private List<MimeMessage> batch;
+
+    @Setup
+    public void setUp() throws MessagingException {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(greenMail.getSmtp().getBindTo());
+        mailSender.setPort(greenMail.getSmtp().getPort());
+
+        pool = new SmtpTransportPool(mailSender, new SimpleMeterRegistry(), 2, 60, 30);
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+            helper.setFrom("no-reply@projectrux.dev");
+            helper.setTo("applicant" + i + "@projectrux.dev");
+            helper.setSubject("New applicant for your project");
+            helper.setText("<p>Someone applied for a role on your project.</p>", true);
+            batch.add(message);
+        }
+    }
+
+    // GreenMail keeps every delivered mail in memory
+    @TearDown(Level.Iteration)
+    public void purge() throws FolderException {
+        greenMail.purgeEmailFromAllMailboxes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.destroy();
+        greenMail.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Exception> pooledBatch() {
+        List<Exception> results = pool.send(batch);
+        for (Exception failure : results) {
+            if (failure != null) {
+                throw new IllegalStateException(failure);
+            }
+        }
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void connectionPerMessage() {
+        for (MimeMessage message : batch) {
+            mailSender.send(message);
+        }
+    }
+}
@@ -37,6 +37,7 @@ export default function Login() {
       if (data?.token) {
         // Save token to localStorage
         localStorage.setItem("token", data.token);
+        localStorage.setItem("refreshToken", data.refreshToken);
 
         // Redirect to homepage
         router.push("/");
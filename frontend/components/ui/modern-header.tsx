@@ -24,6 +24,7 @@ import {
 } from "lucide-react";
 import { useRouter } from "next/navigation";
 import { toast } from "sonner";
+import { authLogout } from "@/services/api";
 
 interface ModernHeaderProps {
   isAuthenticated?: boolean;
@@ -69,7 +70,12 @@ export function ModernHeader({
   };
 
   const handleLogout = () => {
+    const token = localStorage.getItem("token");
+    if (token) {
+      authLogout(token, { refreshToken: localStorage.getItem("refreshToken") }).catch(() => {});
+    }
     localStorage.removeItem("token");
+    localStorage.removeItem("refreshToken");
     router.push("/login");
     toast.success("Logged out successfully");
   };
@@ -86,6 +86,7 @@ export function OtpCard({
 
       // Step 3: Store JWT
       localStorage.setItem("token", token);
+      localStorage.setItem("refreshToken", res2.data?.refreshToken);
 
       // Step 4: Redirect to homepage
       router.push("/");
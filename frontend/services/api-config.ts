@@ -14,11 +14,46 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
+// Access tokens are short-lived; on 401 swap the refresh token for a new pair once and retry.
+// Concurrent 401s share the same refresh call, since each refresh token can only be used once.
+let refreshing: Promise<string | null> | null = null;
+
+function refreshAccessToken(): Promise<string | null> {
+  const refreshToken = localStorage.getItem("refreshToken");
+  if (!refreshToken) return Promise.resolve(null);
+
+  if (!refreshing) {
+    refreshing = axios
+      .post(`${process.env.NEXT_PUBLIC_BACKEND_URL}/auth/refresh`, { refreshToken })
+      .then(({ data }) => {
+        localStorage.setItem("token", data.token);
+        localStorage.setItem("refreshToken", data.refreshToken);
+        clearTokenCache();
+        return data.token as string;
+      })
+      .catch(() => null)
+      .finally(() => {
+        refreshing = null;
+      });
+  }
+  return refreshing;
+}
+
 api.interceptors.response.use(
   (res) => res,
-  (err) => {
+  async (err) => {
+    const original = err.config;
+    if (err.response?.status === 401 && original && !original._retried && typeof window !== "undefined") {
+      original._retried = true;
+      const token = await refreshAccessToken();
+      if (token) {
+        original.headers.Authorization = `Bearer ${token}`;
+        return api(original);
+      }
+    }
     if (err.response?.status === 401) {
       localStorage.removeItem("token");
+      localStorage.removeItem("refreshToken");
       clearTokenCache(); // Clear JWT cache when token is invalid
       if (typeof window !== "undefined") {
         window.location.href = "/login";
@@ -5,7 +5,11 @@ export const getUserIdByEmail = (data: { email: string }) => api.post("/auth/get
 export const authVerifyOtp = (id: string, data: any) => api.post(`/auth/verify-otp/${id}`, data);
 export const authResendOtp = (id: string, data: any) => api.post(`/auth/resend-otp/${id}`, data);
 export const authLogin = (data: any) => api.post("/auth/login", data);
+export const checkAvailability = (params: { username?: string; email?: string }) =>
+  api.get("/auth/availability", { params });
 export const validateAuthToken = (data: any) => api.post("/auth/validate", data);
+export const authLogout = (token: string, data: { refreshToken: string | null }) =>
+  api.post("/auth/logout", data, { headers: { Authorization: `Bearer ${token}` } });
 export const getAllSkills = (data: any) => api.get("/post/get-all-skills", data);
 export const getAllRoles = (data: any) => api.get("/post/get-all-roles", data);
 export const createPost = (data: any) => api.post("/post/create-post", data);
@@ -32,6 +36,7 @@ export const getUserPostById = (id: string, data: any) => api.get(`/post/get-use
 export const deletePostById = (id: string, data: any) => api.delete(`/post/delete-post/${id}`, data);
 export const updatePostById = (id: string, data: any) => api.put(`/post/update-post/${id}`, data);
 export const getPostById = (id: string, data: any) => api.get(`/post/get-post/${id}`, data);
+export const getPostsByIds = (ids: string[]) => api.post("/post/batch-get", ids);
 export const getAppliedPosts = (id: string, data: any) => api.get(`/post/applied/${id}`, data);
 export const updatePostStatus = (id: string, status: string) =>
   api.patch(`/post/update-status/${id}`, JSON.stringify(status), {